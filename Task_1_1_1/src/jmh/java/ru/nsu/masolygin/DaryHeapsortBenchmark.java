@@ -0,0 +1,63 @@
+package ru.nsu.masolygin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Время {@link DaryHeapsort} при арности 2, 4 и 8 на массивах от 1 до 100 млн
+ * случайных чисел. Двоичная {@link Heapsort} на тех же размерах измеряется
+ * в {@link SortBenchmark}.
+ *
+ * <p>Большие размеры выходят далеко за пределы кэшей, где и должна проявиться
+ * выгода от потомков в одной кэш-линии. Один вызов при 100 млн занимает
+ * десятки секунд, поэтому итераций меньше, чем в {@link SortBenchmark}. Запуск:
+ * {@code ./gradlew jmh -PjmhArgs="DaryHeapsortBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DaryHeapsortBenchmark {
+    @Param({"2", "4", "8"})
+    private int arity;
+
+    @Param({"1000000", "10000000", "100000000"})
+    private int size;
+
+    private int[] source;
+    private int[] work;
+
+    /**
+     * Создает исходный и рабочий массивы.
+     */
+    @Setup
+    public void setUp() {
+        source = InputDistribution.RANDOM.generate(size);
+        work = new int[size];
+    }
+
+    /**
+     * Сортировка на d-арной куче.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] daryHeapsort() {
+        System.arraycopy(source, 0, work, 0, size);
+        DaryHeapsort.sort(work, arity);
+        return work;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.nsu.masolygin;
+
+import java.util.Random;
+
+/**
+ * Распределения входных данных для бенчмарков сортировки.
+ */
+public enum InputDistribution {
+    /**
+     * Равномерно распределенные случайные числа.
+     */
+    RANDOM {
+        @Override
+        int value(int i, int n, Random random) {
+            return random.nextInt();
+        }
+    },
+
+    /**
+     * Уже отсортированный массив.
+     */
+    SORTED {
+        @Override
+        int value(int i, int n, Random random) {
+            return i;
+        }
+    },
+
+    /**
+     * Массив, отсортированный по убыванию.
+     */
+    REVERSE {
+        @Override
+        int value(int i, int n, Random random) {
+            return n - i;
+        }
+    },
+
+    /**
+     * «Органные трубы»: возрастающая половина, затем убывающая.
+     */
+    ORGAN_PIPE {
+        @Override
+        int value(int i, int n, Random random) {
+            return i < n / 2 ? i : n - i;
+        }
+    },
+
+    /**
+     * Случайные числа из шестнадцати различных значений.
+     */
+    FEW_UNIQUE {
+        @Override
+        int value(int i, int n, Random random) {
+            return random.nextInt(16);
+        }
+    },
+
+    /**
+     * «Пила»: возрастающие серии длины n / {@value #SAWTOOTH_TEETH},
+     * но не короче двух элементов: при n &gt;= 3 массив не бывает отсортирован.
+     */
+    SAWTOOTH {
+        @Override
+        int value(int i, int n, Random random) {
+            return i % Math.max(2, n / SAWTOOTH_TEETH);
+        }
+    };
+
+    private static final int SAWTOOTH_TEETH = 16;
+
+    /**
+     * Создает массив длины n с фиксированным зерном, одинаковый при каждом запуске.
+     *
+     * @param n длина массива
+     * @return новый массив
+     */
+    public int[] generate(int n) {
+        Random random = new Random(42);
+        int[] arr = new int[n];
+        for (int i = 0; i < n; i++) {
+            arr[i] = value(i, n, random);
+        }
+        return arr;
+    }
+
+    abstract int value(int i, int n, Random random);
+}
@@ -0,0 +1,132 @@
+package ru.nsu.masolygin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Масштабирование {@link MultiQueue} по числу потоков в сравнении с очередью
+ * под одной блокировкой ({@link PriorityBlockingQueue}).
+ *
+ * <p>Один вызов выполняет {@value #OPERATIONS} пар «вставка + извлечение»,
+ * поровну разделенных между threads потоками. Объем работы не зависит от числа
+ * потоков, поэтому при линейном масштабировании время вызова падает обратно
+ * пропорционально threads. Запуск: {@code ./gradlew jmh -PjmhArgs="MultiQueueBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiQueueBenchmark {
+    private static final int OPERATIONS = 1 << 20;
+
+    private static final int PREFILL = 1 << 16;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private ExecutorService pool;
+    private MultiQueue multiQueue;
+    private PriorityBlockingQueue<Integer> lockedQueue;
+
+    /**
+     * Создает пул потоков и заполняет очереди, чтобы извлечение не видело пустых куч.
+     */
+    @Setup
+    public void setUp() {
+        pool = Executors.newFixedThreadPool(threads);
+        multiQueue = new MultiQueue(HeapOrder.MIN,
+                MultiQueue.DEFAULT_QUEUES_PER_THREAD * threads);
+        lockedQueue = new PriorityBlockingQueue<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < PREFILL; i++) {
+            int value = random.nextInt();
+            multiQueue.push(value);
+            lockedQueue.add(value);
+        }
+    }
+
+    /**
+     * Останавливает пул потоков.
+     */
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Вставки и извлечения в {@link MultiQueue}.
+     *
+     * @return число успешных извлечений
+     * @throws Exception если задача завершилась с ошибкой
+     */
+    @Benchmark
+    public long multiQueue() throws Exception {
+        return run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long polled = 0;
+            for (int i = 0; i < OPERATIONS / threads; i++) {
+                multiQueue.push(random.nextInt());
+                if (multiQueue.poll().isPresent()) {
+                    polled++;
+                }
+            }
+            return polled;
+        });
+    }
+
+    /**
+     * Те же операции в очереди под одной блокировкой.
+     *
+     * @return число успешных извлечений
+     * @throws Exception если задача завершилась с ошибкой
+     */
+    @Benchmark
+    public long lockedQueue() throws Exception {
+        return run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long polled = 0;
+            for (int i = 0; i < OPERATIONS / threads; i++) {
+                lockedQueue.add(random.nextInt());
+                if (lockedQueue.poll() != null) {
+                    polled++;
+                }
+            }
+            return polled;
+        });
+    }
+
+    private long run(Callable<Long> work) throws InterruptedException, ExecutionException {
+        List<Callable<Long>> tasks = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            tasks.add(work);
+        }
+        long polled = 0;
+        for (Future<Long> result : pool.invokeAll(tasks)) {
+            polled += result.get();
+        }
+        return polled;
+    }
+}
@@ -0,0 +1,77 @@
+package ru.nsu.masolygin;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Масштабирование {@link Heapsort#parallelHeapsort(int[], int, ForkJoinPool)}
+ * от одного до нескольких потоков.
+ *
+ * <p>Пул создается с заданным параметром parallelism, так что ускорение
+ * читается прямо по строкам результата. Распределение FEW_UNIQUE проверяет,
+ * что при повторяющихся разделителях слияние остается параллельным. Запуск:
+ * {@code ./gradlew jmh -PjmhArgs="ParallelHeapsortBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ParallelHeapsortBenchmark {
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    @Param({"RANDOM", "FEW_UNIQUE"})
+    private InputDistribution distribution;
+
+    private ForkJoinPool pool;
+    private int[] source;
+    private int[] work;
+
+    /**
+     * Создает пул потоков, исходный и рабочий массивы.
+     */
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        source = distribution.generate(size);
+        work = new int[size];
+    }
+
+    /**
+     * Останавливает пул потоков.
+     */
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Параллельная пирамидальная сортировка в пуле из parallelism потоков.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] parallelHeapsort() {
+        System.arraycopy(source, 0, work, 0, size);
+        Heapsort.parallelHeapsort(work, Heapsort.DEFAULT_PARALLEL_THRESHOLD, pool);
+        return work;
+    }
+}
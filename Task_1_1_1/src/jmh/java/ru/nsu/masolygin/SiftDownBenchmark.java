@@ -0,0 +1,196 @@
+package ru.nsu.masolygin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Сравнение спуска Флойда {@link Heapsort#siftDownBottomUp(int[], int, int)} с прежним
+ * рекурсивным спуском обменами по времени и по числу сравнений.
+ *
+ * <p>Прежний спуск воспроизведен здесь без изменений как эталон. Методы *Time
+ * измеряют время сортировки, методы *Comparisons — число сравнений элементов:
+ * счетчики {@code comparisons} и {@code sorts} выводятся JMH как вторичные
+ * результаты, их отношение — сравнения на одну сортировку. Запуск:
+ * {@code ./gradlew jmh -PjmhArgs="SiftDownBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SiftDownBenchmark {
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private int[] source;
+    private int[] work;
+
+    /**
+     * Счетчики сравнений, выводимые как вторичные результаты.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        /**
+         * Число сравнений элементов за итерацию.
+         */
+        public long comparisons;
+
+        /**
+         * Число сортировок за итерацию.
+         */
+        public long sorts;
+
+        /**
+         * Обнуляет счетчики перед итерацией.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            comparisons = 0;
+            sorts = 0;
+        }
+    }
+
+    /**
+     * Создает исходный и рабочий массивы.
+     */
+    @Setup
+    public void setUp() {
+        source = InputDistribution.RANDOM.generate(size);
+        work = new int[size];
+    }
+
+    /**
+     * Сортировка с прежним рекурсивным спуском.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] recursiveTime() {
+        System.arraycopy(source, 0, work, 0, size);
+        int n = work.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            recursiveShiftDown(work, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            Heapsort.swap(work, 0, i);
+            recursiveShiftDown(work, i, 0);
+        }
+        return work;
+    }
+
+    /**
+     * Сортировка со спуском Флойда, без событий JFR и статистики.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] bottomUpTime() {
+        System.arraycopy(source, 0, work, 0, size);
+        Heapsort.sortRange(work, 0, size);
+        return work;
+    }
+
+    /**
+     * Число сравнений прежнего рекурсивного спуска.
+     *
+     * @param counters счетчики
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] recursiveComparisons(Counters counters) {
+        System.arraycopy(source, 0, work, 0, size);
+        int n = work.length;
+        long comparisons = 0;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            comparisons += countingShiftDown(work, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            Heapsort.swap(work, 0, i);
+            comparisons += countingShiftDown(work, i, 0);
+        }
+        counters.comparisons += comparisons;
+        counters.sorts++;
+        return work;
+    }
+
+    /**
+     * Число сравнений спуска Флойда по {@link HeapsortStats}.
+     *
+     * @param counters счетчики
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] bottomUpComparisons(Counters counters) {
+        System.arraycopy(source, 0, work, 0, size);
+        HeapsortStats stats = new HeapsortStats();
+        Heapsort.heapsort(work, stats);
+        counters.comparisons += stats.comparisons();
+        counters.sorts++;
+        return work;
+    }
+
+    /**
+     * Спуск из исходной версии {@link Heapsort}: рекурсия и обмен на каждом уровне.
+     */
+    private static void recursiveShiftDown(int[] arr, int n, int i) {
+        int root = i;
+        int left = 2 * i + 1;
+        int right = 2 * i + 2;
+
+        if (left < n && arr[left] > arr[root]) {
+            root = left;
+        }
+        if (right < n && arr[right] > arr[root]) {
+            root = right;
+        }
+
+        if (root != i) {
+            Heapsort.swap(arr, i, root);
+            recursiveShiftDown(arr, n, root);
+        }
+    }
+
+    /**
+     * Тот же рекурсивный спуск, возвращающий число сравнений элементов.
+     */
+    private static long countingShiftDown(int[] arr, int n, int i) {
+        int root = i;
+        int left = 2 * i + 1;
+        int right = 2 * i + 2;
+        long comparisons = 0;
+
+        if (left < n) {
+            comparisons++;
+            if (arr[left] > arr[root]) {
+                root = left;
+            }
+        }
+        if (right < n) {
+            comparisons++;
+            if (arr[right] > arr[root]) {
+                root = right;
+            }
+        }
+
+        if (root != i) {
+            Heapsort.swap(arr, i, root);
+            comparisons += countingShiftDown(arr, n, root);
+        }
+        return comparisons;
+    }
+}
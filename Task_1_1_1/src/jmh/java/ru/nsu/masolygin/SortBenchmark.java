@@ -0,0 +1,153 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Сравнение {@link Heapsort#heapsort(int[])} и остальных сортировок проекта —
+ * {@link Introsort}, {@link DaryHeapsort}, {@link Heapsort#parallelHeapsort(int[])},
+ * {@link AdaptiveSort} и {@link VectorSort} — с {@link Arrays#sort(int[])} и
+ * {@link Arrays#parallelSort(int[])}.
+ *
+ * <p>Каждый вызов сначала копирует исходный массив в рабочий, а затем сортирует
+ * копию: сортировка на месте иначе получала бы уже упорядоченный вход со второго
+ * вызова. Копирование занимает O(n) и одинаково для всех алгоритмов. Запуск:
+ * {@code ./gradlew jmh}, результаты в build/reports/jmh/results.json; параметры
+ * JMH передаются через {@code -PjmhArgs="..."}, например
+ * {@code -PjmhArgs="-p size=1000 -p distribution=RANDOM"}. Форк запускается
+ * с модулем {@code jdk.incubator.vector}, поэтому {@link VectorSort} работает
+ * в векторном режиме, если процессор его поддерживает.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules", "jdk.incubator.vector"})
+public class SortBenchmark {
+    @Param({"10", "1000", "100000", "10000000", "100000000"})
+    private int size;
+
+    @Param
+    private InputDistribution distribution;
+
+    private int[] source;
+    private int[] work;
+
+    /**
+     * Создает исходный и рабочий массивы.
+     */
+    @Setup
+    public void setUp() {
+        source = distribution.generate(size);
+        work = new int[size];
+    }
+
+    /**
+     * Пирамидальная сортировка.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] heapsort() {
+        System.arraycopy(source, 0, work, 0, size);
+        Heapsort.heapsort(work);
+        return work;
+    }
+
+    /**
+     * Интроспективная сортировка с пирамидальной сортировкой как запасным вариантом.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] introsort() {
+        System.arraycopy(source, 0, work, 0, size);
+        Introsort.sort(work);
+        return work;
+    }
+
+    /**
+     * Пирамидальная сортировка на 4-арной куче.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] daryHeapsort() {
+        System.arraycopy(source, 0, work, 0, size);
+        DaryHeapsort.sort(work, 4);
+        return work;
+    }
+
+    /**
+     * Параллельная пирамидальная сортировка в общем пуле.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] parallelHeapsort() {
+        System.arraycopy(source, 0, work, 0, size);
+        Heapsort.parallelHeapsort(work);
+        return work;
+    }
+
+    /**
+     * Сортировка с выбором алгоритма по входным данным.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] adaptiveSort() {
+        System.arraycopy(source, 0, work, 0, size);
+        AdaptiveSort.sort(work);
+        return work;
+    }
+
+    /**
+     * Блочная сортировка сортирующими сетями со слиянием.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] vectorSort() {
+        System.arraycopy(source, 0, work, 0, size);
+        VectorSort.sort(work);
+        return work;
+    }
+
+    /**
+     * Сортировка из стандартной библиотеки.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] arraysSort() {
+        System.arraycopy(source, 0, work, 0, size);
+        Arrays.sort(work);
+        return work;
+    }
+
+    /**
+     * Параллельная сортировка из стандартной библиотеки.
+     *
+     * @return отсортированный массив
+     */
+    @Benchmark
+    public int[] arraysParallelSort() {
+        System.arraycopy(source, 0, work, 0, size);
+        Arrays.parallelSort(work);
+        return work;
+    }
+}
@@ -0,0 +1,232 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+
+/**
+ * Адаптивная сортировка: выбирает алгоритм по свойствам входа.
+ *
+ * <p>Один линейный проход находит минимум, максимум и число спусков (мера
+ * упорядоченности). По ним массив отправляется:
+ * <ul>
+ *   <li>в {@link SortingNetworks сортирующую сеть}, если он не длиннее
+ *   {@value SortingNetworks#MAX_SIZE} и еще не отсортирован;</li>
+ *   <li>в сортировку вставками, если он короткий или почти упорядочен;</li>
+ *   <li>в сортировку подсчетом, если диапазон значений не шире нескольких длин массива;</li>
+ *   <li>в поразрядную LSD-сортировку, если он длинный и ее буфер из n чисел
+ *   укладывается в бюджет памяти;</li>
+ *   <li>в {@link Heapsort} в остальных случаях: на коротком входе с широким
+ *   диапазоном и на длинном, когда памяти под буфер не хватает.</li>
+ * </ul>
+ * Вставки на почти упорядоченном входе ограничены бюджетом перемещений: несколько
+ * спусков еще не гарантируют мало инверсий, и при превышении бюджета сортировка
+ * продолжается основным алгоритмом. Выбор возвращается в {@link AdaptiveSortStats}.
+ */
+public class AdaptiveSort {
+    /**
+     * Длина, до которой массив длиннее сети сортируется вставками.
+     */
+    static final int INSERTION_THRESHOLD = 32;
+
+    /**
+     * Массив считается почти упорядоченным, если спусков не больше n / PRESORTED_RATIO.
+     */
+    static final int PRESORTED_RATIO = 64;
+
+    /**
+     * Бюджет перемещений вставками на один элемент почти упорядоченного массива.
+     */
+    static final int INSERTION_MOVES_PER_ELEMENT = 8;
+
+    /**
+     * Во сколько раз диапазон значений может превышать длину для сортировки подсчетом.
+     */
+    static final int COUNTING_RANGE_FACTOR = 2;
+
+    /**
+     * Наибольший диапазон значений для сортировки подсчетом: ограничивает память счетчиков.
+     */
+    static final int MAX_COUNTING_RANGE = 1 << 22;
+
+    /**
+     * Длина, начиная с которой поразрядная сортировка быстрее пирамидальной.
+     */
+    static final int RADIX_THRESHOLD = 1 << 6;
+
+    /**
+     * Какую долю свободной памяти кучи JVM может занять буфер поразрядной сортировки.
+     */
+    static final int RADIX_MEMORY_DIVISOR = 2;
+
+    /**
+     * Сортирует массив алгоритмом, подходящим для его содержимого.
+     *
+     * @param arr Массив для сортировки
+     * @return сведения о входе и выбранный алгоритм
+     */
+    public static AdaptiveSortStats sort(int[] arr) {
+        return sort(arr, scratchBudget());
+    }
+
+    /**
+     * Сортирует массив, разрешая дополнительный буфер не больше scratchBudget байтов.
+     *
+     * @param arr           Массив для сортировки
+     * @param scratchBudget Наибольший размер буфера поразрядной сортировки в байтах
+     * @return сведения о входе и выбранный алгоритм
+     */
+    static AdaptiveSortStats sort(int[] arr, long scratchBudget) {
+        int n = arr.length;
+        if (n == 0) {
+            return new AdaptiveSortStats(SortEngine.INSERTION, 0, 0, 0, 0);
+        }
+        int min = arr[0];
+        int max = arr[0];
+        int descents = 0;
+        for (int i = 1; i < n; i++) {
+            int value = arr[i];
+            if (value < arr[i - 1]) {
+                descents++;
+            }
+            if (value < min) {
+                min = value;
+            } else if (value > max) {
+                max = value;
+            }
+        }
+
+        SortEngine engine = choose(n, min, max, descents, scratchBudget);
+        if (engine == SortEngine.INSERTION
+                && !insertionSort(arr, (long) INSERTION_MOVES_PER_ELEMENT * n)) {
+            engine = chooseBulk(n, min, max, scratchBudget);
+        }
+        switch (engine) {
+            case NETWORK:
+                SortingNetworks.sortRange(arr, 0, n);
+                break;
+            case COUNTING:
+                countingSort(arr, min, max);
+                break;
+            case RADIX:
+                radixSort(arr, min, max);
+                break;
+            case HEAP:
+                Heapsort.heapsort(arr);
+                break;
+            default:
+                break;
+        }
+        return new AdaptiveSortStats(engine, n, min, max, descents);
+    }
+
+    /**
+     * Выбирает алгоритм по длине, диапазону значений, числу спусков и бюджету памяти.
+     */
+    static SortEngine choose(int n, int min, int max, int descents, long scratchBudget) {
+        if (n <= SortingNetworks.MAX_SIZE && descents > 0) {
+            return SortEngine.NETWORK;
+        }
+        if (n <= INSERTION_THRESHOLD || descents <= n / PRESORTED_RATIO) {
+            return SortEngine.INSERTION;
+        }
+        return chooseBulk(n, min, max, scratchBudget);
+    }
+
+    /**
+     * Выбирает алгоритм для входа, который не удалось отсортировать вставками.
+     *
+     * <p>Поразрядной сортировке нужен буфер той же длины, что и массив. Если он
+     * не укладывается в scratchBudget, выбирается {@link Heapsort}: она сортирует
+     * на месте и не рискует {@link OutOfMemoryError} на массиве, занимающем
+     * большую часть кучи.
+     */
+    private static SortEngine chooseBulk(int n, int min, int max, long scratchBudget) {
+        long range = (long) max - min + 1;
+        if (range <= MAX_COUNTING_RANGE && range <= (long) COUNTING_RANGE_FACTOR * n) {
+            return SortEngine.COUNTING;
+        }
+        if (n >= RADIX_THRESHOLD && (long) Integer.BYTES * n <= scratchBudget) {
+            return SortEngine.RADIX;
+        }
+        return SortEngine.HEAP;
+    }
+
+    /**
+     * Бюджет буфера по умолчанию: 1 / {@value #RADIX_MEMORY_DIVISOR} памяти, которую
+     * куча JVM еще может выделить.
+     */
+    static long scratchBudget() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return (runtime.maxMemory() - used) / RADIX_MEMORY_DIVISOR;
+    }
+
+    /**
+     * Сортирует массив вставками, пока число перемещений не превысит budget.
+     *
+     * @return true если массив отсортирован, false если бюджет исчерпан
+     */
+    static boolean insertionSort(int[] arr, long budget) {
+        for (int i = 1; i < arr.length; i++) {
+            int value = arr[i];
+            int j = i - 1;
+            while (j >= 0 && arr[j] > value) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = value;
+            budget -= i - 1 - j;
+            if (budget < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Сортирует подсчетом массив, все значения которого лежат в [min, max].
+     */
+    static void countingSort(int[] arr, int min, int max) {
+        int[] counts = new int[max - min + 1];
+        for (int value : arr) {
+            counts[value - min]++;
+        }
+        int pos = 0;
+        for (int i = 0; i < counts.length; i++) {
+            for (int c = counts[i]; c > 0; c--) {
+                arr[pos++] = min + i;
+            }
+        }
+    }
+
+    /**
+     * Поразрядная LSD-сортировка по байтам массива, все значения которого лежат в [min, max].
+     *
+     * <p>Сортируются беззнаковые смещения value - min, поэтому знак не требует особой
+     * обработки, а число проходов равно числу значащих байтов в max - min.
+     */
+    static void radixSort(int[] arr, int min, int max) {
+        int n = arr.length;
+        int span = max - min;
+        int[] src = arr;
+        int[] dst = new int[n];
+        int[] counts = new int[257];
+        for (int shift = 0; shift < Integer.SIZE && (span >>> shift) != 0; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int value : src) {
+                counts[(((value - min) >>> shift) & 0xFF) + 1]++;
+            }
+            for (int i = 0; i < 256; i++) {
+                counts[i + 1] += counts[i];
+            }
+            for (int value : src) {
+                dst[counts[((value - min) >>> shift) & 0xFF]++] = value;
+            }
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, 0, n);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.nsu.masolygin;
+
+/**
+ * Сведения о входе, собранные {@link AdaptiveSort}, и выбранный по ним алгоритм.
+ */
+public final class AdaptiveSortStats {
+    private final SortEngine engine;
+    private final int size;
+    private final int min;
+    private final int max;
+    private final int descents;
+
+    AdaptiveSortStats(SortEngine engine, int size, int min, int max, int descents) {
+        this.engine = engine;
+        this.size = size;
+        this.min = min;
+        this.max = max;
+        this.descents = descents;
+    }
+
+    /**
+     * Возвращает алгоритм, которым массив был отсортирован окончательно.
+     *
+     * @return алгоритм
+     */
+    public SortEngine engine() {
+        return engine;
+    }
+
+    /**
+     * Возвращает длину массива.
+     *
+     * @return длина массива
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает наименьший элемент входа; для пустого массива 0.
+     *
+     * @return наименьший элемент
+     */
+    public int min() {
+        return min;
+    }
+
+    /**
+     * Возвращает наибольший элемент входа; для пустого массива 0.
+     *
+     * @return наибольший элемент
+     */
+    public int max() {
+        return max;
+    }
+
+    /**
+     * Возвращает число спусков во входе, то есть позиций i, где arr[i] &lt; arr[i - 1].
+     * Ноль означает, что массив уже был отсортирован.
+     *
+     * @return число спусков
+     */
+    public int descents() {
+        return descents;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSortStats{engine=" + engine + ", size=" + size + ", min=" + min
+                + ", max=" + max + ", descents=" + descents + '}';
+    }
+}
@@ -0,0 +1,23 @@
+package ru.nsu.masolygin;
+
+/**
+ * Первая фаза {@link VectorSort}: сортировка отрезка блоками фиксированной длины.
+ */
+interface BlockSorter {
+    /**
+     * Разбивает отрезок [from, to) на серии длины {@code runLength()}, начиная с from,
+     * и сортирует каждую серию; последняя серия может быть короче.
+     *
+     * @param arr  Массив
+     * @param from Индекс первого элемента отрезка (включительно)
+     * @param to   Индекс конца отрезка (не включительно)
+     */
+    void sortRuns(int[] arr, int from, int to);
+
+    /**
+     * Возвращает длину серий, которые оставляет {@link #sortRuns}.
+     *
+     * @return длина серии
+     */
+    int runLength();
+}
@@ -0,0 +1,232 @@
+package ru.nsu.masolygin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Пирамидальная сортировка данных вне кучи Java: в буферах NIO и отображенных в память файлах.
+ *
+ * <p>Сортируются элементы между position и limit буфера; сами position и limit
+ * не меняются. Данные не копируются в массив, поэтому буферы могут быть прямыми
+ * или отображенными. Алгоритм тот же, что в {@link Heapsort}: спуск Флойда.
+ */
+public class BufferHeapsort {
+    /**
+     * Логарифм числа int в одной странице отображения файла: 2^28 int = 1 ГиБ,
+     * что укладывается в ограничение {@link FileChannel#map} на 2 ГиБ.
+     */
+    static final int PAGE_SHIFT = 28;
+
+    /**
+     * Сортирует элементы буфера между position и limit.
+     *
+     * @param buffer буфер
+     * @throws ReadOnlyBufferException если буфер только для чтения
+     */
+    public static void sort(IntBuffer buffer) {
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        IntBuffer view = buffer.slice();
+        heapsort(new PagedInts(new IntBuffer[]{view}, Integer.SIZE - 1), view.remaining());
+    }
+
+    /**
+     * Сортирует элементы буфера между position и limit.
+     *
+     * @param buffer буфер
+     * @throws ReadOnlyBufferException если буфер только для чтения
+     */
+    public static void sort(LongBuffer buffer) {
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        heapsort(buffer.slice());
+    }
+
+    /**
+     * Сортирует байты буфера между position и limit как последовательность int.
+     *
+     * @param buffer буфер, например прямой или {@link MappedByteBuffer}
+     * @param order  порядок байтов в числах, независимо от текущего порядка буфера
+     * @throws IllegalArgumentException если длина области не кратна четырем байтам
+     * @throws ReadOnlyBufferException  если буфер только для чтения
+     */
+    public static void sortInts(ByteBuffer buffer, ByteOrder order) {
+        sort(slice(buffer, order, Integer.BYTES).asIntBuffer());
+    }
+
+    /**
+     * Сортирует байты буфера между position и limit как последовательность long.
+     *
+     * @param buffer буфер, например прямой или {@link MappedByteBuffer}
+     * @param order  порядок байтов в числах, независимо от текущего порядка буфера
+     * @throws IllegalArgumentException если длина области не кратна восьми байтам
+     * @throws ReadOnlyBufferException  если буфер только для чтения
+     */
+    public static void sortLongs(ByteBuffer buffer, ByteOrder order) {
+        sort(slice(buffer, order, Long.BYTES).asLongBuffer());
+    }
+
+    /**
+     * Сортирует на месте файл из int, отображая его в память без копирования в кучу.
+     *
+     * <p>Файл отображается страницами по 1 ГиБ, поэтому его размер не ограничен
+     * 2 ГиБ одного {@link MappedByteBuffer}; предел — {@link Integer#MAX_VALUE} чисел.
+     *
+     * @param file  файл
+     * @param order порядок байтов в числах
+     * @throws IOException при ошибке ввода-вывода, если длина файла не кратна четырем
+     *                     байтам или в нем больше {@link Integer#MAX_VALUE} чисел
+     */
+    public static void sortFile(Path file, ByteOrder order) throws IOException {
+        sortFile(file, order, PAGE_SHIFT);
+    }
+
+    static void sortFile(Path file, ByteOrder order, int pageShift) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IOException("File length " + size + " is not a multiple of "
+                        + Integer.BYTES);
+            }
+            if (size / Integer.BYTES > Integer.MAX_VALUE) {
+                throw new IOException("File holds more than " + Integer.MAX_VALUE + " ints");
+            }
+            int n = (int) (size / Integer.BYTES);
+            long pageBytes = (long) Integer.BYTES << pageShift;
+            MappedByteBuffer[] mappings = new MappedByteBuffer[(int) ((size + pageBytes - 1)
+                    / pageBytes)];
+            IntBuffer[] pages = new IntBuffer[mappings.length];
+            for (int i = 0; i < mappings.length; i++) {
+                long offset = i * pageBytes;
+                mappings[i] = channel.map(FileChannel.MapMode.READ_WRITE, offset,
+                        Math.min(pageBytes, size - offset));
+                pages[i] = mappings[i].order(order).asIntBuffer();
+            }
+            heapsort(new PagedInts(pages, pageShift), n);
+            for (MappedByteBuffer mapping : mappings) {
+                mapping.force();
+            }
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, ByteOrder order, int elementBytes) {
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        if (buffer.remaining() % elementBytes != 0) {
+            throw new IllegalArgumentException("Region length " + buffer.remaining()
+                    + " is not a multiple of " + elementBytes);
+        }
+        return buffer.slice().order(order);
+    }
+
+    private static void heapsort(PagedInts arr, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int temp = arr.get(0);
+            arr.set(0, arr.get(i));
+            arr.set(i, temp);
+            siftDown(arr, i, 0);
+        }
+    }
+
+    /**
+     * Спуск Флойда. Цикл ограничен условием hole &lt; n / 2, поэтому 2 * hole + 1
+     * не переполняет int даже при n, близком к {@link Integer#MAX_VALUE}.
+     */
+    static void siftDown(PagedInts arr, int n, int i) {
+        int value = arr.get(i);
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && arr.get(child + 1) > arr.get(child)) {
+                child++;
+            }
+            arr.set(hole, arr.get(child));
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (arr.get(parent) > value) {
+                break;
+            }
+            arr.set(hole, arr.get(parent));
+            hole = parent;
+        }
+        arr.set(hole, value);
+    }
+
+    private static void heapsort(LongBuffer arr) {
+        int n = arr.remaining();
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            long temp = arr.get(0);
+            arr.put(0, arr.get(i));
+            arr.put(i, temp);
+            siftDown(arr, i, 0);
+        }
+    }
+
+    private static void siftDown(LongBuffer arr, int n, int i) {
+        long value = arr.get(i);
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && arr.get(child + 1) > arr.get(child)) {
+                child++;
+            }
+            arr.put(hole, arr.get(child));
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (arr.get(parent) > value) {
+                break;
+            }
+            arr.put(hole, arr.get(parent));
+            hole = parent;
+        }
+        arr.put(hole, value);
+    }
+
+    /**
+     * Последовательность int, разбитая на страницы одинакового размера 2^shift.
+     * Для одного буфера shift = 31, и номер страницы всегда равен нулю.
+     */
+    static final class PagedInts {
+        private final IntBuffer[] pages;
+        private final int shift;
+        private final int mask;
+
+        PagedInts(IntBuffer[] pages, int shift) {
+            this.pages = pages;
+            this.shift = shift;
+            this.mask = (int) ((1L << shift) - 1);
+        }
+
+        int get(int i) {
+            return pages[i >>> shift].get(i & mask);
+        }
+
+        void set(int i, int value) {
+            pages[i >>> shift].put(i & mask, value);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.nsu.masolygin;
+
+/**
+ * Пирамидальная сортировка на d-арной куче.
+ *
+ * <p>Потомки узла лежат подряд, а высота кучи в log2(d) раз меньше двоичной.
+ * Корень кучи стоит в позиции d − 1, поэтому потомки узла с номером i (корень —
+ * узел 0) занимают позиции d·(i + 1) … d·(i + 1) + d − 1: каждая группа начинается
+ * с индекса, кратного d, и при d = 4 или d = 8 не пересекает границу кэш-линии,
+ * если начало данных массива выровнено по 4·d байтам. Первые d − 1 элементов в кучу
+ * не входят: они сортируются вставками и сливаются с отсортированной кучей за
+ * один проход. Спуск выполняется методом Флойда, как в {@link Heapsort}.
+ */
+public class DaryHeapsort {
+    /**
+     * Сортирует массив целых чисел на d-арной куче.
+     *
+     * @param arr   Массив для сортировки
+     * @param arity Арность кучи: 2, 4 или 8
+     * @throws IllegalArgumentException если арность не равна 2, 4 или 8
+     */
+    public static void sort(int[] arr, int arity) {
+        if (arity != 2 && arity != 4 && arity != 8) {
+            throw new IllegalArgumentException("Unsupported arity: " + arity);
+        }
+        int base = Math.min(arity - 1, arr.length);
+        int n = arr.length - base;
+        for (int i = lastParent(arity, n); i >= 0; i--) {
+            siftDown(arr, arity, base, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            Heapsort.swap(arr, base, base + i);
+            siftDown(arr, arity, base, i, 0);
+        }
+        mergePrefix(arr, base);
+    }
+
+    /**
+     * Спуск Флойда в d-арной куче из n элементов с корнем в arr[base], начиная с узла i.
+     * Спуск идет только по узлам, у которых есть потомки, поэтому индекс первого
+     * потомка не превышает n − 1 и не переполняет int.
+     *
+     * @param arr   Массив, представляющий кучу
+     * @param arity Арность кучи
+     * @param base  Позиция корня кучи в массиве
+     * @param n     Размер кучи
+     * @param i     Индекс узла относительно base
+     */
+    static void siftDown(int[] arr, int arity, int base, int n, int i) {
+        int value = arr[base + i];
+        int hole = i;
+        int lastParent = lastParent(arity, n);
+        while (hole <= lastParent) {
+            int first = arity * hole + 1;
+            int last = Math.min(first + arity, n);
+            int best = first;
+            for (int child = first + 1; child < last; child++) {
+                if (arr[base + child] > arr[base + best]) {
+                    best = child;
+                }
+            }
+            arr[base + hole] = arr[base + best];
+            hole = best;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / arity;
+            if (arr[base + parent] > value) {
+                break;
+            }
+            arr[base + hole] = arr[base + parent];
+            hole = parent;
+        }
+        arr[base + hole] = value;
+    }
+
+    /**
+     * Возвращает последний узел, у которого есть потомки, или −1 для кучи без них.
+     */
+    private static int lastParent(int arity, int n) {
+        return n < 2 ? -1 : (n - 2) / arity;
+    }
+
+    /**
+     * Сливает первые m элементов с уже отсортированным отрезком [m, arr.length).
+     * Префикс сортируется вставками и копируется в буфер из m &lt; 8 элементов;
+     * запись идет слева направо и не обгоняет чтение из отрезка.
+     */
+    private static void mergePrefix(int[] arr, int m) {
+        if (m == 0) {
+            return;
+        }
+        int[] prefix = new int[m];
+        for (int i = 0; i < m; i++) {
+            int value = arr[i];
+            int j = i;
+            while (j > 0 && prefix[j - 1] > value) {
+                prefix[j] = prefix[j - 1];
+                j--;
+            }
+            prefix[j] = value;
+        }
+        int i = 0;
+        int j = m;
+        int k = 0;
+        while (i < m && j < arr.length) {
+            arr[k++] = prefix[i] <= arr[j] ? prefix[i++] : arr[j++];
+        }
+        while (i < m) {
+            arr[k++] = prefix[i++];
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package ru.nsu.masolygin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Внешняя сортировка двоичных файлов из int в порядке big-endian, не помещающихся в память.
+ *
+ * <p>Входной файл читается блоками через {@link FileChannel}, каждый блок сортируется
+ * {@link Heapsort} и сбрасывается во временный файл-серию. Затем серии сливаются
+ * k-путевым слиянием на куче в выходной файл. Если серий больше, чем можно слить
+ * за один проход в пределах буфера, слияние выполняется в несколько проходов.
+ * Временные файлы удаляются в любом случае, в том числе при ошибке.
+ */
+public class ExternalSorter {
+    /**
+     * Размер буфера по умолчанию в байтах.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Минимальный размер буфера в байтах.
+     */
+    public static final int MIN_BUFFER_SIZE = 16;
+
+    /**
+     * Желаемый размер блока чтения одной серии при слиянии.
+     */
+    static final int MERGE_BLOCK_SIZE = 4096;
+
+    private final int bufferSize;
+    private final Path tempDir;
+
+    /**
+     * Создает сортировщик с буфером по умолчанию и системным каталогом временных файлов.
+     */
+    public ExternalSorter() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Создает сортировщик с системным каталогом временных файлов.
+     *
+     * @param bufferSize объем памяти под данные в байтах
+     */
+    public ExternalSorter(int bufferSize) {
+        this(bufferSize, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Создает сортировщик.
+     *
+     * @param bufferSize объем памяти под данные в байтах; ограничивает и размер
+     *                   сортируемого в памяти блока, и суммарный размер буферов слияния
+     * @param tempDir    каталог для временных файлов-серий
+     * @throws IllegalArgumentException если bufferSize меньше {@link #MIN_BUFFER_SIZE}
+     */
+    public ExternalSorter(int bufferSize, Path tempDir) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size is too small: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Сортирует файл input и записывает результат в output.
+     *
+     * @param input  входной файл из int в порядке big-endian
+     * @param output выходной файл; создается или перезаписывается
+     * @throws IOException при ошибке ввода-вывода или если длина входного файла
+     *                     не кратна четырем байтам
+     */
+    public void sort(Path input, Path output) throws IOException {
+        long length = Files.size(input);
+        if (length % Integer.BYTES != 0) {
+            throw new IOException("File length " + length + " is not a multiple of "
+                    + Integer.BYTES);
+        }
+
+        List<Path> runs = new ArrayList<>();
+        try {
+            splitIntoRuns(input, runs);
+            int fanIn = Math.max(2, bufferSize / MERGE_BLOCK_SIZE - 1);
+            while (runs.size() > fanIn) {
+                List<Path> group = new ArrayList<>(runs.subList(0, fanIn));
+                Path merged = Files.createTempFile(tempDir, "heapsort-run", ".bin");
+                runs.add(merged);
+                merge(group, merged);
+                runs.removeAll(group);
+                deleteAll(group);
+            }
+            merge(runs, output);
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    private void splitIntoRuns(Path input, List<Path> runs) throws IOException {
+        int[] chunk = new int[bufferSize / 2 / Integer.BYTES];
+        ByteBuffer io = ByteBuffer.allocate(chunk.length * Integer.BYTES);
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            int count;
+            while ((count = readChunk(in, io, chunk)) > 0) {
+                Heapsort.heapsort(chunk, 0, count);
+                Path run = Files.createTempFile(tempDir, "heapsort-run", ".bin");
+                runs.add(run);
+                try (FileChannel out = FileChannel.open(run, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    writeInts(out, io, chunk, count);
+                }
+            }
+        }
+    }
+
+    /**
+     * Читает из канала очередной блок, заполняя chunk целиком, если хватает данных.
+     * Буфер io имеет ровно тот же размер в байтах, что и chunk.
+     *
+     * @return количество прочитанных чисел; 0 в конце файла
+     */
+    private static int readChunk(FileChannel in, ByteBuffer io, int[] chunk) throws IOException {
+        io.clear();
+        while (io.hasRemaining() && in.read(io) >= 0) {
+            // Дочитываем блок целиком, пока канал не вернет конец файла
+        }
+        io.flip();
+        int count = io.remaining() / Integer.BYTES;
+        io.asIntBuffer().get(chunk, 0, count);
+        return count;
+    }
+
+    private static void writeInts(FileChannel out, ByteBuffer io, int[] values, int count)
+            throws IOException {
+        int capacity = io.capacity() / Integer.BYTES;
+        for (int offset = 0; offset < count; offset += capacity) {
+            int ints = Math.min(capacity, count - offset);
+            io.clear();
+            io.asIntBuffer().put(values, offset, ints);
+            io.limit(ints * Integer.BYTES);
+            while (io.hasRemaining()) {
+                out.write(io);
+            }
+        }
+    }
+
+    /**
+     * Сливает серии в файл target. Пары (значение, номер серии) упакованы в long
+     * так, что порядок long совпадает с порядком значений, и хранятся в куче в виде
+     * побитовых дополнений, чтобы ядро max-кучи {@link Heapsort} работало как min-куча.
+     */
+    private void merge(List<Path> runs, Path target) throws IOException {
+        int blockSize = Math.max(Integer.BYTES,
+                bufferSize / (runs.size() + 1) / Integer.BYTES * Integer.BYTES);
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long[] heap = new long[runs.size()];
+            int size = 0;
+            for (Path run : runs) {
+                RunReader reader = new RunReader(FileChannel.open(run, StandardOpenOption.READ),
+                        blockSize);
+                readers.add(reader);
+                if (reader.hasNext()) {
+                    heap[size++] = ~key(reader.next(), readers.size() - 1);
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                Heapsort.siftDownBottomUp(heap, size, i);
+            }
+
+            ByteBuffer output = ByteBuffer.allocate(blockSize);
+            while (size > 0) {
+                long top = ~heap[0];
+                int run = (int) top;
+                output.putInt((int) (top >> 32));
+                if (!output.hasRemaining()) {
+                    flush(out, output);
+                }
+                RunReader reader = readers.get(run);
+                if (reader.hasNext()) {
+                    heap[0] = ~key(reader.next(), run);
+                } else {
+                    heap[0] = heap[--size];
+                }
+                if (size > 0) {
+                    Heapsort.siftDownBottomUp(heap, size, 0);
+                }
+            }
+            flush(out, output);
+        } finally {
+            IOException failure = null;
+            for (RunReader reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long key(int value, int run) {
+        return ((long) value << 32) | run;
+    }
+
+    /**
+     * Удаляет файлы, не прерываясь на ошибках: очистка не должна скрывать исходную ошибку.
+     */
+    private static void deleteAll(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Файл остался во временном каталоге, удалить его больше нечем
+            }
+        }
+    }
+
+    /**
+     * Последовательное блочное чтение серии.
+     */
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunReader(FileChannel channel, int blockSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(blockSize);
+            buffer.limit(0);
+        }
+
+        boolean hasNext() throws IOException {
+            if (buffer.remaining() >= Integer.BYTES) {
+                return true;
+            }
+            buffer.compact();
+            while (buffer.position() < Integer.BYTES && channel.read(buffer) >= 0) {
+                // Серии пишутся целыми числами, поэтому достаточно дочитать хотя бы одно
+            }
+            buffer.flip();
+            return buffer.remaining() >= Integer.BYTES;
+        }
+
+        int next() {
+            return buffer.getInt();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ru.nsu.masolygin;
+
+/**
+ * Порядок приоритетной очереди: какой элемент находится на вершине.
+ */
+public enum HeapOrder {
+    /**
+     * На вершине наименьший элемент.
+     */
+    MIN,
+
+    /**
+     * На вершине наибольший элемент.
+     */
+    MAX
+}
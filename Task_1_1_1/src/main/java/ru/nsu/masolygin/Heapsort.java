@@ -1,23 +1,489 @@
 package ru.nsu.masolygin;
 
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import jdk.jfr.EventType;
+
 /**
  * Сортировка кучей (Heapsort)
  */
 public class Heapsort {
+    /**
+     * Минимальная длина сегмента параллельной сортировки по умолчанию.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Длина, начиная с которой куча строится параллельно в общем пуле, если в нем
+     * больше одного потока.
+     */
+    static final int PARALLEL_HEAPIFY_THRESHOLD = 1 << 20;
+
+    /**
+     * Число узлов поддерева, которое при параллельном построении кучи
+     * обрабатывается одной задачей.
+     */
+    static final int HEAPIFY_SUBTREE_SIZE = 1 << 15;
+
+    /**
+     * Системное свойство: если равно true, {@link #heapsort(int[])} и
+     * {@link #heapsort(int[], int, int)} собирают {@link HeapsortStats#current()}.
+     * Читается один раз при загрузке класса.
+     */
+    public static final String STATS_PROPERTY = "ru.nsu.masolygin.heapsort.stats";
+
+    private static final boolean STATS_ENABLED = Boolean.getBoolean(STATS_PROPERTY);
+
+    private static final EventType HEAPSORT_EVENT = EventType.getEventType(HeapsortEvent.class);
+
     /**
      * Сортирует массив целых чисел с использованием алгоритма пирамидальной сортировки
      *
      * @param arr Массив для сортировки
      */
     public static void heapsort(int[] arr) {
-        int n = arr.length;
+        sortRecorded(arr, 0, arr.length, STATS_ENABLED ? HeapsortStats.current() : null);
+    }
+
+    /**
+     * Сортирует на месте отрезок массива [from, to), не затрагивая остальные элементы.
+     *
+     * @param arr  Массив для сортировки
+     * @param from Индекс первого элемента отрезка (включительно)
+     * @param to   Индекс конца отрезка (не включительно)
+     * @throws IllegalArgumentException       если from &gt; to
+     * @throws ArrayIndexOutOfBoundsException если from &lt; 0 или to &gt; arr.length
+     */
+    public static void heapsort(int[] arr, int from, int to) {
+        rangeCheck(arr.length, from, to);
+        sortRecorded(arr, from, to, STATS_ENABLED ? HeapsortStats.current() : null);
+    }
+
+    /**
+     * Сортирует массив и добавляет в stats число сравнений, обменов, перемещений
+     * и наибольшую глубину просеивания. Порядок операций тот же, что у
+     * {@link #heapsort(int[])}, но каждая из них подсчитывается.
+     *
+     * @param arr   Массив для сортировки
+     * @param stats Накапливаемая статистика
+     */
+    public static void heapsort(int[] arr, HeapsortStats stats) {
+        sortRecorded(arr, 0, arr.length, stats);
+    }
+
+    /**
+     * Сортирует отрезок массива [from, to) и добавляет счетчики в stats.
+     *
+     * @param arr   Массив для сортировки
+     * @param from  Индекс первого элемента отрезка (включительно)
+     * @param to    Индекс конца отрезка (не включительно)
+     * @param stats Накапливаемая статистика
+     * @throws IllegalArgumentException       если from &gt; to
+     * @throws ArrayIndexOutOfBoundsException если from &lt; 0 или to &gt; arr.length
+     */
+    public static void heapsort(int[] arr, int from, int to, HeapsortStats stats) {
+        rangeCheck(arr.length, from, to);
+        sortRecorded(arr, from, to, stats);
+    }
+
+    /**
+     * Сортирует массив целых чисел типа long с использованием алгоритма пирамидальной сортировки.
+     *
+     * @param arr Массив для сортировки
+     */
+    public static void heapsort(long[] arr) {
+        heapsortPrefix(arr, arr.length);
+    }
+
+    /**
+     * Сортирует массив целых чисел типа short с использованием алгоритма пирамидальной сортировки.
+     *
+     * @param arr Массив для сортировки
+     */
+    public static void heapsort(short[] arr) {
+        heapsortPrefix(arr, arr.length);
+    }
+
+    /**
+     * Сортирует массив символов с использованием алгоритма пирамидальной сортировки.
+     *
+     * @param arr Массив для сортировки
+     */
+    public static void heapsort(char[] arr) {
+        heapsortPrefix(arr, arr.length);
+    }
+
+    /**
+     * Сортирует массив байтов с использованием алгоритма пирамидальной сортировки.
+     *
+     * @param arr Массив для сортировки
+     */
+    public static void heapsort(byte[] arr) {
+        heapsortPrefix(arr, arr.length);
+    }
+
+    /**
+     * Сортирует массив чисел типа double в порядке {@link Arrays#sort(double[])}.
+     *
+     * <p>Значения NaN переносятся в конец массива, а -0.0 располагается перед 0.0.
+     *
+     * @param arr Массив для сортировки
+     */
+    public static void heapsort(double[] arr) {
+        int end = arr.length;
+        for (int i = end - 1; i >= 0; i--) {
+            if (Double.isNaN(arr[i])) {
+                end--;
+                double temp = arr[i];
+                arr[i] = arr[end];
+                arr[end] = temp;
+            }
+        }
+        heapsortPrefix(arr, end);
+        orderSignedZeros(arr, end);
+    }
+
+    /**
+     * Сортирует массив чисел типа float в порядке {@link Arrays#sort(float[])}.
+     *
+     * <p>Значения NaN переносятся в конец массива, а -0.0 располагается перед 0.0.
+     *
+     * @param arr Массив для сортировки
+     */
+    public static void heapsort(float[] arr) {
+        int end = arr.length;
+        for (int i = end - 1; i >= 0; i--) {
+            if (Float.isNaN(arr[i])) {
+                end--;
+                float temp = arr[i];
+                arr[i] = arr[end];
+                arr[end] = temp;
+            }
+        }
+        heapsortPrefix(arr, end);
+        orderSignedZeros(arr, end);
+    }
+
+    /**
+     * Сортирует массив ключей и переставляет элементы payload вместе с ними.
+     *
+     * @param keys    Массив ключей
+     * @param payload Массив данных той же длины
+     * @throws IllegalArgumentException если длины массивов не совпадают
+     */
+    public static void heapsort(int[] keys, long[] payload) {
+        lengthCheck(keys.length, payload.length);
+        int n = keys.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(keys, payload, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            swap(keys, 0, i);
+            long temp = payload[0];
+            payload[0] = payload[i];
+            payload[i] = temp;
+            siftDownBottomUp(keys, payload, i, 0);
+        }
+    }
+
+    /**
+     * Сортирует массив ключей и переставляет элементы payload вместе с ними.
+     *
+     * @param keys    Массив ключей
+     * @param payload Массив данных той же длины
+     * @param <T>     Тип данных
+     * @throws IllegalArgumentException если длины массивов не совпадают
+     */
+    public static <T> void heapsort(int[] keys, T[] payload) {
+        lengthCheck(keys.length, payload.length);
+        int n = keys.length;
         for (int i = n / 2 - 1; i >= 0; i--) {
-            shiftDown(arr, n, i);
+            siftDownBottomUp(keys, payload, n, i);
         }
-        for (int i = n - 1; i >= 0; i--) {
-            swap(arr, 0, i);
-            shiftDown(arr, i, 0);
+        for (int i = n - 1; i > 0; i--) {
+            swap(keys, 0, i);
+            T temp = payload[0];
+            payload[0] = payload[i];
+            payload[i] = temp;
+            siftDownBottomUp(keys, payload, i, 0);
+        }
+    }
+
+    /**
+     * Сортирует объекты по целочисленному ключу без компаратора.
+     *
+     * <p>Ключи вычисляются один раз для каждого объекта, после чего массив ключей
+     * сортируется вместе с объектами: вместо O(n log n) вызовов компаратора
+     * выполняется n вызовов key. Сортировка неустойчива.
+     *
+     * @param items Массив объектов
+     * @param key   Функция, возвращающая ключ объекта
+     * @param <T>   Тип объектов
+     */
+    public static <T> void sortBy(T[] items, ToIntFunction<? super T> key) {
+        int[] keys = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = key.applyAsInt(items[i]);
         }
+        heapsort(keys, items);
+    }
+
+    /**
+     * Сортирует объекты по ключу типа long без компаратора.
+     *
+     * <p>Работает как {@link #sortBy(Object[], ToIntFunction)}. Отдельное имя нужно
+     * потому, что лямбда без явных типов подходит под обе функции и перегрузка
+     * была бы неоднозначной.
+     *
+     * @param items Массив объектов
+     * @param key   Функция, возвращающая ключ объекта
+     * @param <T>   Тип объектов
+     */
+    public static <T> void sortByLong(T[] items, ToLongFunction<? super T> key) {
+        int n = items.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = key.applyAsLong(items[i]);
+        }
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(keys, items, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            long temp = keys[0];
+            keys[0] = keys[i];
+            keys[i] = temp;
+            T item = items[0];
+            items[0] = items[i];
+            items[i] = item;
+            siftDownBottomUp(keys, items, i, 0);
+        }
+    }
+
+    /**
+     * Сортирует массив ключей и синхронно переставляет элементы всех массивов payloads.
+     *
+     * <p>Каждый обмен ключей сопровождается обменом тех же позиций во всех массивах,
+     * поэтому не нужны ни массив индексов, ни отдельный проход перестановки.
+     * Для одного массива данных быстрее перегрузки {@link #heapsort(int[], long[])}
+     * и {@link #heapsort(int[], Object[])}.
+     *
+     * <p>Массивы данных разбираются так же, как столбцы в
+     * {@link Permutations#apply(int[], Object, Object...)}: единственный массив
+     * объектов не раскрывается в элементы varargs.
+     *
+     * @param keys         Массив ключей
+     * @param payload      Массив данных той же длины: примитивный или массив объектов
+     * @param morePayloads Остальные массивы данных той же длины
+     * @throws IllegalArgumentException если длины не совпадают или аргумент не массив
+     */
+    public static void heapsortWithPayloads(int[] keys, Object payload,
+            Object... morePayloads) {
+        Object[] payloads = Permutations.columns(payload, morePayloads);
+        for (Object array : payloads) {
+            lengthCheck(keys.length, Permutations.length(array));
+        }
+        int n = keys.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            shiftDown(keys, payloads, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            swap(keys, payloads, 0, i);
+            shiftDown(keys, payloads, i, 0);
+        }
+    }
+
+    /**
+     * Возвращает перестановку, упорядочивающую ключи, не изменяя сам массив ключей.
+     *
+     * <p>keys[result[0]] &lt;= keys[result[1]] &lt;= … Равные ключи сохраняют исходный
+     * порядок индексов, поэтому перестановка однозначна. Применить ее к параллельным
+     * массивам можно методом {@link Permutations#apply(int[], Object, Object...)}.
+     *
+     * @param keys Массив ключей
+     * @return массив индексов длины keys.length
+     */
+    public static int[] argsort(int[] keys) {
+        int n = keys.length;
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            index[i] = i;
+        }
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownIndex(index, keys, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            swap(index, 0, i);
+            siftDownIndex(index, keys, i, 0);
+        }
+        return index;
+    }
+
+    /**
+     * Сортирует массив параллельно в общем пуле {@link ForkJoinPool#commonPool()}.
+     *
+     * @param arr Массив для сортировки
+     */
+    public static void parallelHeapsort(int[] arr) {
+        parallelHeapsort(arr, DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Сортирует массив параллельно в общем пуле {@link ForkJoinPool#commonPool()}.
+     *
+     * @param arr       Массив для сортировки
+     * @param threshold Минимальная длина сегмента; более короткие массивы сортируются
+     *                  последовательно
+     * @throws IllegalArgumentException если threshold &lt; 1
+     */
+    public static void parallelHeapsort(int[] arr, int threshold) {
+        parallelHeapsort(arr, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Сортирует массив параллельно в указанном пуле.
+     *
+     * <p>Массив делится на сегменты по числу потоков пула (но не короче threshold),
+     * каждый сегмент сортируется кучей в отдельной задаче, после чего отсортированные
+     * серии сливаются {@link KWayMerge k-путевым слиянием}. Слияние также распараллеливается:
+     * выход делится на части по значениям-разделителям, выбранным из серий.
+     *
+     * @param arr       Массив для сортировки
+     * @param threshold Минимальная длина сегмента
+     * @param pool      Пул потоков
+     * @throws IllegalArgumentException если threshold &lt; 1
+     */
+    public static void parallelHeapsort(int[] arr, int threshold, ForkJoinPool pool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        ParallelHeapsort.sort(arr, threshold, pool);
+    }
+
+    /**
+     * Превращает массив в max-кучу (arr[i] &gt;= arr[2i + 1], arr[2i + 2]) параллельно
+     * в указанном пуле.
+     *
+     * <p>Поддеревья нижних уровней строятся одновременно, узлы верхних уровней
+     * просеиваются после своих потомков. Результат совпадает с последовательным
+     * построением кучи.
+     *
+     * @param arr  Массив
+     * @param pool Пул потоков
+     */
+    public static void parallelHeapify(int[] arr, ForkJoinPool pool) {
+        ParallelHeapify.heapify(arr, 0, arr.length, HEAPIFY_SUBTREE_SIZE, pool);
+    }
+
+    /**
+     * Превращает массив чисел типа long в max-кучу параллельно в указанном пуле.
+     *
+     * @param arr  Массив
+     * @param pool Пул потоков
+     * @see #parallelHeapify(int[], ForkJoinPool)
+     */
+    public static void parallelHeapify(long[] arr, ForkJoinPool pool) {
+        ParallelHeapify.heapify(arr, arr.length, HEAPIFY_SUBTREE_SIZE, pool);
+    }
+
+    /**
+     * Возвращает k наибольших элементов массива в порядке возрастания.
+     *
+     * <p>Использует кучу из k элементов: время O(n log k), дополнительная память O(k).
+     * Исходный массив не изменяется.
+     *
+     * @param arr Массив
+     * @param k   Количество элементов
+     * @return новый отсортированный массив длины k
+     * @throws IllegalArgumentException если k &lt; 0 или k &gt; arr.length
+     */
+    public static int[] topK(int[] arr, int k) {
+        kCheck(arr.length, k);
+        int[] heap = new int[k];
+        for (int i = 0; i < k; i++) {
+            heap[i] = ~arr[i];
+        }
+        selectTop(heap, k, arr, k);
+        return heap;
+    }
+
+    /**
+     * Возвращает k наименьших элементов массива в порядке возрастания.
+     *
+     * <p>Использует кучу из k элементов: время O(n log k), дополнительная память O(k).
+     * Исходный массив не изменяется.
+     *
+     * @param arr Массив
+     * @param k   Количество элементов
+     * @return новый отсортированный массив длины k
+     * @throws IllegalArgumentException если k &lt; 0 или k &gt; arr.length
+     */
+    public static int[] bottomK(int[] arr, int k) {
+        kCheck(arr.length, k);
+        int[] heap = Arrays.copyOf(arr, k);
+        selectBottom(heap, k, arr, k);
+        return heap;
+    }
+
+    /**
+     * Частично сортирует массив на месте: первые k позиций занимают k наибольших
+     * элементов в порядке возрастания, остальные элементы идут в произвольном порядке.
+     *
+     * @param arr Массив
+     * @param k   Количество элементов
+     * @throws IllegalArgumentException если k &lt; 0 или k &gt; arr.length
+     */
+    public static void topKInPlace(int[] arr, int k) {
+        kCheck(arr.length, k);
+        for (int i = 0; i < k; i++) {
+            arr[i] = ~arr[i];
+        }
+        selectTop(arr, k, arr, k);
+    }
+
+    /**
+     * Частично сортирует массив на месте: первые k позиций занимают k наименьших
+     * элементов в порядке возрастания, остальные элементы идут в произвольном порядке.
+     *
+     * @param arr Массив
+     * @param k   Количество элементов
+     * @throws IllegalArgumentException если k &lt; 0 или k &gt; arr.length
+     */
+    public static void bottomKInPlace(int[] arr, int k) {
+        kCheck(arr.length, k);
+        selectBottom(arr, k, arr, k);
+    }
+
+    /**
+     * Возвращает итератор, выдающий элементы массива в порядке возрастания.
+     *
+     * <p>Куча строится сразу за O(n) по копии массива, а каждый вызов next
+     * извлекает очередной минимум за O(log n). Если нужны лишь первые m элементов,
+     * общая стоимость O(n + m log n) вместо O(n log n) полной сортировки.
+     * Исходный массив не изменяется.
+     *
+     * @param arr Массив
+     * @return итератор по элементам в порядке возрастания
+     */
+    public static PrimitiveIterator.OfInt sortedIterator(int[] arr) {
+        IntHeap heap = IntHeap.heapify(arr, HeapOrder.MIN);
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return !heap.isEmpty();
+            }
+
+            @Override
+            public int nextInt() {
+                if (heap.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                return heap.pop();
+            }
+        };
     }
 
     /**
@@ -33,6 +499,24 @@ public class Heapsort {
         arr[j] = temp;
     }
 
+    /**
+     * Меняет местами два элемента кучи, занимающей отрезок [from, to).
+     *
+     * @param arr  Массив
+     * @param from Индекс начала отрезка (включительно)
+     * @param to   Индекс конца отрезка (не включительно)
+     * @param i    Индекс первого элемента относительно from
+     * @param j    Индекс второго элемента относительно from
+     * @throws IllegalArgumentException       если from &gt; to
+     * @throws ArrayIndexOutOfBoundsException если отрезок или индексы выходят за границы
+     */
+    public static void swap(int[] arr, int from, int to, int i, int j) {
+        rangeCheck(arr.length, from, to);
+        nodeCheck(from, to, i);
+        nodeCheck(from, to, j);
+        swap(arr, from + i, from + j);
+    }
+
     /**
      * Восстанавливает свойство кучи, начиная с узла i, в массиве размером n
      *
@@ -41,22 +525,712 @@ public class Heapsort {
      * @param i   Индекс узла, с которого начинается восстановление
      */
     public static void shiftDown(int[] arr, int n, int i) {
-        int root = i;
-        int left = 2 * i + 1;
-        int right = 2 * i + 2;
+        shiftDownAt(arr, 0, n, i);
+    }
+
+    /**
+     * Восстанавливает свойство кучи, занимающей отрезок [from, to), начиная с узла i.
+     *
+     * <p>Корень кучи находится в arr[from], потомки узла k (относительно from)
+     * лежат в позициях 2k + 1 и 2k + 2.
+     *
+     * @param arr  Массив, представляющий кучу
+     * @param from Индекс корня кучи
+     * @param to   Индекс конца кучи (не включительно)
+     * @param i    Индекс узла относительно from
+     * @throws IllegalArgumentException       если from &gt; to
+     * @throws ArrayIndexOutOfBoundsException если отрезок или узел выходят за границы
+     */
+    public static void shiftDown(int[] arr, int from, int to, int i) {
+        rangeCheck(arr.length, from, to);
+        nodeCheck(from, to, i);
+        shiftDownAt(arr, from, to - from, i);
+    }
+
+    /**
+     * Восстанавливает свойство кучи, начиная с узла i, методом Флойда (bottom-up).
+     *
+     * <p>Сначала спускается до листа по пути больших потомков, делая одно сравнение
+     * на уровень, затем поднимается обратно до позиции вставляемого элемента.
+     * Результат совпадает с {@link #shiftDown(int[], int, int)}, но в фазе
+     * извлечения максимумов требует почти вдвое меньше сравнений, так как
+     * элемент из конца массива почти всегда опускается до самого низа.
+     *
+     * @param arr Массив, представляющий кучу
+     * @param n   Размер кучи
+     * @param i   Индекс узла, с которого начинается восстановление
+     */
+    public static void siftDownBottomUp(int[] arr, int n, int i) {
+        siftDownBottomUp(arr, 0, n, i);
+    }
+
+    /**
+     * Поднимает элемент arr[i] к корню max-кучи, пока родитель меньше него.
+     */
+    static void siftUp(int[] arr, int i) {
+        int value = arr[i];
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (arr[parent] >= value) {
+                break;
+            }
+            arr[i] = arr[parent];
+            i = parent;
+        }
+        arr[i] = value;
+    }
+
+    /**
+     * Поднимает элемент arr[i] к корню max-кучи, пока родитель меньше него.
+     */
+    static void siftUp(long[] arr, int i) {
+        long value = arr[i];
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (arr[parent] >= value) {
+                break;
+            }
+            arr[i] = arr[parent];
+            i = parent;
+        }
+        arr[i] = value;
+    }
+
+    /**
+     * Сортирует отрезок, сообщая о вызове событием {@link HeapsortEvent}, если оно
+     * включено в какой-либо записи JFR. Иначе событие не создается, и вызов
+     * не выделяет памяти.
+     */
+    private static void sortRecorded(int[] arr, int from, int to, HeapsortStats stats) {
+        if (!HEAPSORT_EVENT.isEnabled()) {
+            sortUnrecorded(arr, from, to, stats);
+            return;
+        }
+        HeapsortEvent event = new HeapsortEvent();
+        event.begin();
+        sortUnrecorded(arr, from, to, stats);
+        if (event.shouldCommit()) {
+            event.size = to - from;
+            event.instrumented = stats != null;
+            event.commit();
+        }
+    }
+
+    /**
+     * Сортирует отрезок; при stats, отличном от null, использует инструментированный
+     * вариант.
+     */
+    private static void sortUnrecorded(int[] arr, int from, int to, HeapsortStats stats) {
+        if (stats == null) {
+            buildHeap(arr, from, to);
+            sortHeap(arr, from, to);
+        } else {
+            InstrumentedHeapsort.sort(arr, from, to, stats);
+        }
+    }
+
+    static void sortRange(int[] arr, int from, int to) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(arr, from, n, i);
+        }
+        sortHeap(arr, from, to);
+    }
+
+    /**
+     * Строит max-кучу на отрезке [from, to). Отрезки длиной от
+     * {@link #PARALLEL_HEAPIFY_THRESHOLD} строятся параллельно в общем пуле,
+     * если в нем больше одного потока.
+     */
+    static void buildHeap(int[] arr, int from, int to) {
+        int n = to - from;
+        if (n >= PARALLEL_HEAPIFY_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ParallelHeapify.heapify(arr, from, to, HEAPIFY_SUBTREE_SIZE,
+                    ForkJoinPool.commonPool());
+            return;
+        }
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(arr, from, n, i);
+        }
+    }
+
+    /**
+     * Строит max-кучу из первых n элементов массива; порог параллельного построения
+     * тот же, что у {@link #buildHeap(int[], int, int)}.
+     */
+    static void buildHeap(long[] arr, int n) {
+        if (n >= PARALLEL_HEAPIFY_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ParallelHeapify.heapify(arr, n, HEAPIFY_SUBTREE_SIZE, ForkJoinPool.commonPool());
+            return;
+        }
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(arr, n, i);
+        }
+    }
 
+    /**
+     * Сортирует отрезок [from, to), уже являющийся max-кучей.
+     */
+    private static void sortHeap(int[] arr, int from, int to) {
+        for (int i = to - from - 1; i > 0; i--) {
+            swap(arr, from, from + i);
+            siftDownBottomUp(arr, from, i, 0);
+        }
+    }
 
-        if (left < n && arr[left] > arr[root]) {
-            root = left;
+    /**
+     * Спуск Флойда, перемещающий payload[k] вместе с keys[k].
+     */
+    private static void siftDownBottomUp(int[] keys, long[] payload, int n, int i) {
+        int value = keys[i];
+        long data = payload[i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && keys[child + 1] > keys[child]) {
+                child++;
+            }
+            keys[hole] = keys[child];
+            payload[hole] = payload[child];
+            hole = child;
         }
-        if (right < n && arr[right] > arr[root]) {
-            root = right;
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (keys[parent] > value) {
+                break;
+            }
+            keys[hole] = keys[parent];
+            payload[hole] = payload[parent];
+            hole = parent;
         }
+        keys[hole] = value;
+        payload[hole] = data;
+    }
 
-        if (root != i) {
-            swap(arr, i, root);
-            shiftDown(arr, n, root);
+    /**
+     * Спуск Флойда, перемещающий payload[k] вместе с keys[k].
+     */
+    private static <T> void siftDownBottomUp(int[] keys, T[] payload, int n, int i) {
+        int value = keys[i];
+        T data = payload[i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && keys[child + 1] > keys[child]) {
+                child++;
+            }
+            keys[hole] = keys[child];
+            payload[hole] = payload[child];
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (keys[parent] > value) {
+                break;
+            }
+            keys[hole] = keys[parent];
+            payload[hole] = payload[parent];
+            hole = parent;
         }
+        keys[hole] = value;
+        payload[hole] = data;
+    }
+
+    /**
+     * Спуск Флойда, перемещающий payload[k] вместе с keys[k].
+     */
+    private static <T> void siftDownBottomUp(long[] keys, T[] payload, int n, int i) {
+        long value = keys[i];
+        T data = payload[i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && keys[child + 1] > keys[child]) {
+                child++;
+            }
+            keys[hole] = keys[child];
+            payload[hole] = payload[child];
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (keys[parent] > value) {
+                break;
+            }
+            keys[hole] = keys[parent];
+            payload[hole] = payload[parent];
+            hole = parent;
+        }
+        keys[hole] = value;
+        payload[hole] = data;
+    }
+
+    /**
+     * Классический спуск обменами: массивов данных может быть сколько угодно,
+     * и каждый обмен ключей повторяется в каждом из них.
+     */
+    private static void shiftDown(int[] keys, Object[] payloads, int n, int i) {
+        int half = n / 2;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && keys[child + 1] > keys[child]) {
+                child++;
+            }
+            if (keys[child] <= keys[i]) {
+                break;
+            }
+            swap(keys, payloads, i, child);
+            i = child;
+        }
+    }
+
+    private static void swap(int[] keys, Object[] payloads, int i, int j) {
+        swap(keys, i, j);
+        Permutations.swapAll(payloads, i, j);
     }
 
-}
\ No newline at end of file
+    /**
+     * Спуск Флойда по массиву индексов; индексы сравниваются по парам (keys[index], index).
+     */
+    private static void siftDownIndex(int[] index, int[] keys, int n, int i) {
+        int value = index[i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && greater(keys, index[child + 1], index[child])) {
+                child++;
+            }
+            index[hole] = index[child];
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (greater(keys, index[parent], value)) {
+                break;
+            }
+            index[hole] = index[parent];
+            hole = parent;
+        }
+        index[hole] = value;
+    }
+
+    private static boolean greater(int[] keys, int a, int b) {
+        return keys[a] > keys[b] || (keys[a] == keys[b] && a > b);
+    }
+
+    /**
+     * Собирает в heap[0, k) наибольшие элементы source[from, source.length).
+     * Куча хранит побитовые дополнения значений: ~x меняет порядок int на обратный,
+     * поэтому max-куча над ними является min-кучей над исходными значениями.
+     * Если heap совпадает с source, вытесненные элементы остаются в хвосте массива.
+     */
+    private static void selectTop(int[] heap, int k, int[] source, int from) {
+        if (k == 0) {
+            return;
+        }
+        for (int i = k / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(heap, 0, k, i);
+        }
+        for (int i = from; i < source.length; i++) {
+            int inverted = ~source[i];
+            if (inverted < heap[0]) {
+                if (heap == source) {
+                    source[i] = ~heap[0];
+                }
+                heap[0] = inverted;
+                siftDownBottomUp(heap, 0, k, 0);
+            }
+        }
+        sortInverted(heap, k);
+    }
+
+    /**
+     * Превращает префикс heap[0, n) из побитовых дополнений значений
+     * в исходные значения, упорядоченные по возрастанию.
+     */
+    static void sortInverted(int[] heap, int n) {
+        sortRange(heap, 0, n);
+        for (int i = 0, j = n - 1; i <= j; i++, j--) {
+            int temp = ~heap[i];
+            heap[i] = ~heap[j];
+            heap[j] = temp;
+        }
+    }
+
+    /**
+     * Собирает в heap[0, k) наименьшие элементы source[from, source.length) с помощью max-кучи.
+     * Если heap совпадает с source, вытесненные элементы остаются в хвосте массива.
+     */
+    private static void selectBottom(int[] heap, int k, int[] source, int from) {
+        if (k == 0) {
+            return;
+        }
+        for (int i = k / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(heap, 0, k, i);
+        }
+        for (int i = from; i < source.length; i++) {
+            int value = source[i];
+            if (value < heap[0]) {
+                if (heap == source) {
+                    source[i] = heap[0];
+                }
+                heap[0] = value;
+                siftDownBottomUp(heap, 0, k, 0);
+            }
+        }
+        sortRange(heap, 0, k);
+    }
+
+    /**
+     * Классический спуск с досрочной остановкой в куче из n элементов с корнем в arr[base].
+     */
+    private static void shiftDownAt(int[] arr, int base, int n, int i) {
+        int value = arr[base + i];
+        int half = n / 2;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && arr[base + child + 1] > arr[base + child]) {
+                child++;
+            }
+            if (arr[base + child] <= value) {
+                break;
+            }
+            arr[base + i] = arr[base + child];
+            i = child;
+        }
+        arr[base + i] = value;
+    }
+
+    /**
+     * Спуск Флойда в куче из n элементов с корнем в arr[base]. Спуск идет, пока
+     * hole &lt; n / 2, поэтому индекс потомка 2 * hole + 1 не выходит за n и не
+     * переполняет int даже при n около {@link Integer#MAX_VALUE}; так же ограничены
+     * все остальные спуски в этом классе.
+     */
+    static void siftDownBottomUp(int[] arr, int base, int n, int i) {
+        int value = arr[base + i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && arr[base + child + 1] > arr[base + child]) {
+                child++;
+            }
+            arr[base + hole] = arr[base + child];
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (arr[base + parent] > value) {
+                break;
+            }
+            arr[base + hole] = arr[base + parent];
+            hole = parent;
+        }
+        arr[base + hole] = value;
+    }
+
+    /**
+     * Проверяет корректность отрезка [from, to) так же, как {@link Arrays#sort}.
+     */
+    static void rangeCheck(int length, int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (to > length) {
+            throw new ArrayIndexOutOfBoundsException(to);
+        }
+    }
+
+    private static void lengthCheck(int keys, int payload) {
+        if (keys != payload) {
+            throw new IllegalArgumentException("Payload length " + payload
+                    + " does not match keys length " + keys);
+        }
+    }
+
+    private static void kCheck(int length, int k) {
+        if (k < 0 || k > length) {
+            throw new IllegalArgumentException("k(" + k + ") must be in [0, " + length + "]");
+        }
+    }
+
+    private static void nodeCheck(int from, int to, int i) {
+        if (i < 0 || i >= to - from) {
+            throw new ArrayIndexOutOfBoundsException("Node " + i + " is outside of heap of size "
+                    + (to - from));
+        }
+    }
+
+    /**
+     * Сортирует префикс длины n. Это и следующие ниже ядра для short, char, byte,
+     * double и float — построчные копии int-версии: обобщения Java не работают
+     * с примитивами, а упаковка или компаратор в горячем цикле дороже копии.
+     * Совпадение каждой копии с int-ядром на каждом шаге проверяет
+     * {@code HeapsortTest.primitiveKernelsMatchIntKernelTest}.
+     */
+    private static void heapsortPrefix(long[] arr, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(arr, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            long temp = arr[0];
+            arr[0] = arr[i];
+            arr[i] = temp;
+            siftDownBottomUp(arr, i, 0);
+        }
+    }
+
+    static void siftDownBottomUp(long[] arr, int n, int i) {
+        long value = arr[i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && arr[child + 1] > arr[child]) {
+                child++;
+            }
+            arr[hole] = arr[child];
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (arr[parent] > value) {
+                break;
+            }
+            arr[hole] = arr[parent];
+            hole = parent;
+        }
+        arr[hole] = value;
+    }
+
+    private static void heapsortPrefix(short[] arr, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(arr, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            short temp = arr[0];
+            arr[0] = arr[i];
+            arr[i] = temp;
+            siftDownBottomUp(arr, i, 0);
+        }
+    }
+
+    static void siftDownBottomUp(short[] arr, int n, int i) {
+        short value = arr[i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && arr[child + 1] > arr[child]) {
+                child++;
+            }
+            arr[hole] = arr[child];
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (arr[parent] > value) {
+                break;
+            }
+            arr[hole] = arr[parent];
+            hole = parent;
+        }
+        arr[hole] = value;
+    }
+
+    private static void heapsortPrefix(char[] arr, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(arr, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            char temp = arr[0];
+            arr[0] = arr[i];
+            arr[i] = temp;
+            siftDownBottomUp(arr, i, 0);
+        }
+    }
+
+    static void siftDownBottomUp(char[] arr, int n, int i) {
+        char value = arr[i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && arr[child + 1] > arr[child]) {
+                child++;
+            }
+            arr[hole] = arr[child];
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (arr[parent] > value) {
+                break;
+            }
+            arr[hole] = arr[parent];
+            hole = parent;
+        }
+        arr[hole] = value;
+    }
+
+    private static void heapsortPrefix(byte[] arr, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(arr, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            byte temp = arr[0];
+            arr[0] = arr[i];
+            arr[i] = temp;
+            siftDownBottomUp(arr, i, 0);
+        }
+    }
+
+    static void siftDownBottomUp(byte[] arr, int n, int i) {
+        byte value = arr[i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && arr[child + 1] > arr[child]) {
+                child++;
+            }
+            arr[hole] = arr[child];
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (arr[parent] > value) {
+                break;
+            }
+            arr[hole] = arr[parent];
+            hole = parent;
+        }
+        arr[hole] = value;
+    }
+
+    private static void heapsortPrefix(double[] arr, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(arr, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            double temp = arr[0];
+            arr[0] = arr[i];
+            arr[i] = temp;
+            siftDownBottomUp(arr, i, 0);
+        }
+    }
+
+    static void siftDownBottomUp(double[] arr, int n, int i) {
+        double value = arr[i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && arr[child + 1] > arr[child]) {
+                child++;
+            }
+            arr[hole] = arr[child];
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (arr[parent] > value) {
+                break;
+            }
+            arr[hole] = arr[parent];
+            hole = parent;
+        }
+        arr[hole] = value;
+    }
+
+    /**
+     * Располагает -0.0 перед 0.0 внутри отсортированного префикса длины n.
+     * Оператор сравнения считает нули равными, поэтому после кучи они перемешаны.
+     */
+    private static void orderSignedZeros(double[] arr, int n) {
+        int firstZero = -1;
+        int zeros = 0;
+        int negativeZeros = 0;
+        for (int i = 0; i < n && arr[i] <= 0; i++) {
+            if (arr[i] == 0) {
+                if (firstZero < 0) {
+                    firstZero = i;
+                }
+                zeros++;
+                if (Double.doubleToRawLongBits(arr[i]) < 0) {
+                    negativeZeros++;
+                }
+            }
+        }
+        for (int i = 0; i < zeros; i++) {
+            arr[firstZero + i] = i < negativeZeros ? -0.0 : 0.0;
+        }
+    }
+
+    private static void heapsortPrefix(float[] arr, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownBottomUp(arr, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            float temp = arr[0];
+            arr[0] = arr[i];
+            arr[i] = temp;
+            siftDownBottomUp(arr, i, 0);
+        }
+    }
+
+    static void siftDownBottomUp(float[] arr, int n, int i) {
+        float value = arr[i];
+        int hole = i;
+        int half = n / 2;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && arr[child + 1] > arr[child]) {
+                child++;
+            }
+            arr[hole] = arr[child];
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            if (arr[parent] > value) {
+                break;
+            }
+            arr[hole] = arr[parent];
+            hole = parent;
+        }
+        arr[hole] = value;
+    }
+
+    /**
+     * Располагает -0.0 перед 0.0 внутри отсортированного префикса длины n.
+     * Оператор сравнения считает нули равными, поэтому после кучи они перемешаны.
+     */
+    private static void orderSignedZeros(float[] arr, int n) {
+        int firstZero = -1;
+        int zeros = 0;
+        int negativeZeros = 0;
+        for (int i = 0; i < n && arr[i] <= 0; i++) {
+            if (arr[i] == 0) {
+                if (firstZero < 0) {
+                    firstZero = i;
+                }
+                zeros++;
+                if (Float.floatToRawIntBits(arr[i]) < 0) {
+                    negativeZeros++;
+                }
+            }
+        }
+        for (int i = 0; i < zeros; i++) {
+            arr[firstZero + i] = i < negativeZeros ? -0.0f : 0.0f;
+        }
+    }
+}
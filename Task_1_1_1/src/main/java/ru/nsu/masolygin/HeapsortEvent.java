@@ -0,0 +1,25 @@
+package ru.nsu.masolygin;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JFR для одного вызова {@link Heapsort#heapsort(int[])}: длина и время сортировки.
+ * Пока запись JFR не включена, событие не фиксируется и почти ничего не стоит.
+ */
+@Name("ru.nsu.masolygin.Heapsort")
+@Label("Heapsort")
+@Category("Sorting")
+@Description("Один вызов пирамидальной сортировки")
+final class HeapsortEvent extends Event {
+    @Label("Size")
+    @Description("Длина сортируемого отрезка")
+    int size;
+
+    @Label("Instrumented")
+    @Description("Собиралась ли статистика HeapsortStats")
+    boolean instrumented;
+}
@@ -0,0 +1,120 @@
+package ru.nsu.masolygin;
+
+/**
+ * Счетчики работы пирамидальной сортировки для настройки и анализа.
+ *
+ * <p>Заполняется инструментированным вариантом сортировки: явным вызовом
+ * {@link Heapsort#heapsort(int[], HeapsortStats)} или, если задано системное
+ * свойство {@value Heapsort#STATS_PROPERTY}=true, каждым вызовом
+ * {@link Heapsort#heapsort(int[])} в статистику {@link #current()} текущего
+ * потока. Счетчики накапливаются между вызовами до {@link #reset()}.
+ * Объект не потокобезопасен.
+ */
+public final class HeapsortStats {
+    private static final ThreadLocal<HeapsortStats> CURRENT =
+            ThreadLocal.withInitial(HeapsortStats::new);
+
+    private long sorts;
+    private long elements;
+    private long comparisons;
+    private long swaps;
+    private long moves;
+    private int maxSiftDepth;
+
+    /**
+     * Возвращает статистику текущего потока, в которую пишет режим, включенный
+     * системным свойством {@value Heapsort#STATS_PROPERTY}.
+     *
+     * @return статистика текущего потока
+     */
+    public static HeapsortStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Возвращает число учтенных сортировок.
+     *
+     * @return число сортировок
+     */
+    public long sorts() {
+        return sorts;
+    }
+
+    /**
+     * Возвращает суммарную длину отсортированных массивов.
+     *
+     * @return число элементов
+     */
+    public long elements() {
+        return elements;
+    }
+
+    /**
+     * Возвращает число сравнений элементов.
+     *
+     * @return число сравнений
+     */
+    public long comparisons() {
+        return comparisons;
+    }
+
+    /**
+     * Возвращает число обменов вершины кучи с последним элементом.
+     *
+     * @return число обменов
+     */
+    public long swaps() {
+        return swaps;
+    }
+
+    /**
+     * Возвращает число перемещений элементов при просеивании. Просеивание без
+     * обменов записывает элемент один раз на уровень, поэтому это число
+     * соответствует обменам в классическом спуске.
+     *
+     * @return число перемещений
+     */
+    public long moves() {
+        return moves;
+    }
+
+    /**
+     * Возвращает наибольшее число уровней, пройденных одним просеиванием вниз.
+     *
+     * @return наибольшая глубина просеивания
+     */
+    public int maxSiftDepth() {
+        return maxSiftDepth;
+    }
+
+    /**
+     * Добавляет счетчики одной сортировки отрезка из elements элементов.
+     */
+    void record(int elements, long comparisons, long moves, int siftDepth) {
+        sorts++;
+        this.elements += elements;
+        this.comparisons += comparisons;
+        swaps += Math.max(elements - 1, 0);
+        this.moves += moves;
+        maxSiftDepth = Math.max(maxSiftDepth, siftDepth);
+    }
+
+    /**
+     * Обнуляет все счетчики.
+     */
+    public void reset() {
+        sorts = 0;
+        elements = 0;
+        comparisons = 0;
+        swaps = 0;
+        moves = 0;
+        maxSiftDepth = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "HeapsortStats{sorts=" + sorts + ", elements=" + elements
+                + ", comparisons=" + comparisons + ", swaps=" + swaps + ", moves=" + moves
+                + ", maxSiftDepth=" + maxSiftDepth + '}';
+    }
+}
@@ -0,0 +1,236 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Индексированная min-куча: очередь элементов с номерами 0 … capacity - 1
+ * и приоритетами типа long, которые можно менять у элементов, уже стоящих в очереди.
+ *
+ * <p>Кроме самой кучи хранится обратное отображение номер → позиция в куче,
+ * поэтому {@link #decreaseKey}, {@link #increaseKey} и {@link #remove} работают
+ * за O(log n), а {@link #contains} — за O(1). Все данные лежат в примитивных массивах.
+ * Подходит для алгоритма Дейкстры без повторных вставок и устаревших записей.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final long[] keys;
+    private int size;
+
+    /**
+     * Создает пустую очередь для элементов с номерами 0 … capacity - 1.
+     *
+     * @param capacity количество возможных номеров
+     * @throws IllegalArgumentException если capacity &lt; 0
+     */
+    public IndexedMinHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Unacceptable capacity: " + capacity);
+        }
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Добавляет элемент с приоритетом.
+     *
+     * @param id  номер элемента
+     * @param key приоритет
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     * @throws IllegalArgumentException  если элемент уже в очереди
+     */
+    public void insert(int id, long key) {
+        if (contains(id)) {
+            throw new IllegalArgumentException("Element " + id + " is already queued");
+        }
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Проверяет, стоит ли элемент в очереди.
+     *
+     * @param id номер элемента
+     * @return true если элемент в очереди
+     * @throws IndexOutOfBoundsException если номер вне диапазона
+     */
+    public boolean contains(int id) {
+        Objects.checkIndex(id, position.length);
+        return position[id] >= 0;
+    }
+
+    /**
+     * Возвращает приоритет элемента.
+     *
+     * @param id номер элемента
+     * @return приоритет
+     * @throws NoSuchElementException если элемента нет в очереди
+     */
+    public long keyOf(int id) {
+        presenceCheck(id);
+        return keys[id];
+    }
+
+    /**
+     * Уменьшает приоритет элемента.
+     *
+     * @param id  номер элемента
+     * @param key новый приоритет, не больше текущего
+     * @throws NoSuchElementException   если элемента нет в очереди
+     * @throws IllegalArgumentException если новый приоритет больше текущего
+     */
+    public void decreaseKey(int id, long key) {
+        presenceCheck(id);
+        if (key > keys[id]) {
+            throw new IllegalArgumentException("New key " + key + " is greater than current "
+                    + keys[id]);
+        }
+        keys[id] = key;
+        siftUp(position[id]);
+    }
+
+    /**
+     * Увеличивает приоритет элемента.
+     *
+     * @param id  номер элемента
+     * @param key новый приоритет, не меньше текущего
+     * @throws NoSuchElementException   если элемента нет в очереди
+     * @throws IllegalArgumentException если новый приоритет меньше текущего
+     */
+    public void increaseKey(int id, long key) {
+        presenceCheck(id);
+        if (key < keys[id]) {
+            throw new IllegalArgumentException("New key " + key + " is less than current "
+                    + keys[id]);
+        }
+        keys[id] = key;
+        siftDown(position[id]);
+    }
+
+    /**
+     * Удаляет элемент из очереди.
+     *
+     * @param id номер элемента
+     * @throws NoSuchElementException если элемента нет в очереди
+     */
+    public void remove(int id) {
+        presenceCheck(id);
+        int slot = position[id];
+        position[id] = -1;
+        size--;
+        if (slot < size) {
+            int moved = heap[size];
+            heap[slot] = moved;
+            position[moved] = slot;
+            siftUp(slot);
+            siftDown(position[moved]);
+        }
+    }
+
+    /**
+     * Возвращает номер элемента с наименьшим приоритетом, не удаляя его.
+     *
+     * @return номер элемента
+     * @throws NoSuchElementException если очередь пуста
+     */
+    public int peekId() {
+        emptyCheck();
+        return heap[0];
+    }
+
+    /**
+     * Возвращает наименьший приоритет в очереди.
+     *
+     * @return приоритет
+     * @throws NoSuchElementException если очередь пуста
+     */
+    public long peekKey() {
+        emptyCheck();
+        return keys[heap[0]];
+    }
+
+    /**
+     * Удаляет элемент с наименьшим приоритетом и возвращает его номер.
+     *
+     * @return номер элемента
+     * @throws NoSuchElementException если очередь пуста
+     */
+    public int poll() {
+        emptyCheck();
+        int id = heap[0];
+        remove(id);
+        return id;
+    }
+
+    /**
+     * Возвращает количество элементов в очереди.
+     *
+     * @return количество элементов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуста ли очередь.
+     *
+     * @return true если очередь пуста
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void siftUp(int slot) {
+        int id = heap[slot];
+        long key = keys[id];
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+            heap[slot] = heap[parent];
+            position[heap[slot]] = slot;
+            slot = parent;
+        }
+        heap[slot] = id;
+        position[id] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int id = heap[slot];
+        long key = keys[id];
+        int half = size / 2;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (keys[heap[child]] >= key) {
+                break;
+            }
+            heap[slot] = heap[child];
+            position[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = id;
+        position[id] = slot;
+    }
+
+    private void presenceCheck(int id) {
+        if (!contains(id)) {
+            throw new NoSuchElementException("Element " + id + " is not queued");
+        }
+    }
+
+    private void emptyCheck() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+    }
+}
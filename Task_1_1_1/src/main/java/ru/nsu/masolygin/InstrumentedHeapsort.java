@@ -0,0 +1,68 @@
+package ru.nsu.masolygin;
+
+/**
+ * Копия {@link Heapsort#sortRange} со счетчиками. Отдельный класс оставляет
+ * основной путь без единой лишней инструкции. Совпадение спуска с int-ядром
+ * {@link Heapsort} на каждом шаге проверяет
+ * {@code HeapsortTest.primitiveKernelsMatchIntKernelTest}.
+ */
+final class InstrumentedHeapsort {
+    private long comparisons;
+    private long moves;
+    private int maxSiftDepth;
+
+    InstrumentedHeapsort() {
+    }
+
+    /**
+     * Сортирует отрезок [from, to) и добавляет счетчики в stats.
+     */
+    static void sort(int[] arr, int from, int to, HeapsortStats stats) {
+        InstrumentedHeapsort counters = new InstrumentedHeapsort();
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            counters.siftDown(arr, from, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            Heapsort.swap(arr, from, from + i);
+            counters.siftDown(arr, from, i, 0);
+        }
+        stats.record(n, counters.comparisons, counters.moves, counters.maxSiftDepth);
+    }
+
+    /**
+     * Спуск Флойда в куче из n элементов с корнем в arr[base], считающий сравнения,
+     * перемещения и глубину.
+     */
+    void siftDown(int[] arr, int base, int n, int i) {
+        int value = arr[base + i];
+        int hole = i;
+        int half = n / 2;
+        int depth = 0;
+        while (hole < half) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n) {
+                comparisons++;
+                if (arr[base + child + 1] > arr[base + child]) {
+                    child++;
+                }
+            }
+            arr[base + hole] = arr[base + child];
+            moves++;
+            depth++;
+            hole = child;
+        }
+        while (hole > i) {
+            int parent = (hole - 1) / 2;
+            comparisons++;
+            if (arr[base + parent] > value) {
+                break;
+            }
+            arr[base + hole] = arr[base + parent];
+            moves++;
+            hole = parent;
+        }
+        arr[base + hole] = value;
+        maxSiftDepth = Math.max(maxSiftDepth, depth);
+    }
+}
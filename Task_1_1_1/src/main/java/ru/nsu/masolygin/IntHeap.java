@@ -0,0 +1,184 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Расширяемая приоритетная очередь чисел типа int без упаковки в Integer.
+ *
+ * <p>Построена на тех же процедурах подъема и спуска, что и {@link Heapsort}.
+ * Ядра {@link Heapsort} работают с max-кучей, поэтому для порядка
+ * {@link HeapOrder#MIN} в массиве хранятся побитовые дополнения значений:
+ * ~x обращает порядок без переполнения. Операции не выделяют память,
+ * кроме редкого расширения массива.
+ */
+public class IntHeap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final HeapOrder order;
+    private final int flip;
+    private int[] heap;
+    private int size;
+
+    /**
+     * Создает пустую очередь.
+     *
+     * @param order порядок очереди
+     */
+    public IntHeap(HeapOrder order) {
+        this(order, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает пустую очередь с заданной начальной емкостью.
+     *
+     * @param order           порядок очереди
+     * @param initialCapacity начальная емкость
+     * @throws IllegalArgumentException если емкость отрицательна
+     */
+    public IntHeap(HeapOrder order, int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Unacceptable initial capacity: "
+                    + initialCapacity);
+        }
+        this.order = order;
+        this.flip = order == HeapOrder.MIN ? -1 : 0;
+        this.heap = new int[initialCapacity];
+    }
+
+    /**
+     * Создает очередь из всех элементов массива за O(n). Массив не изменяется.
+     * Для длинных массивов куча строится параллельно в общем пуле.
+     *
+     * @param values элементы
+     * @param order  порядок очереди
+     * @return новая очередь
+     */
+    public static IntHeap heapify(int[] values, HeapOrder order) {
+        IntHeap result = flipped(values, order);
+        Heapsort.buildHeap(result.heap, 0, result.size);
+        return result;
+    }
+
+    /**
+     * Создает очередь из всех элементов массива, строя кучу параллельно в указанном пуле.
+     * Массив не изменяется.
+     *
+     * @param values элементы
+     * @param order  порядок очереди
+     * @param pool   пул потоков
+     * @return новая очередь
+     */
+    public static IntHeap heapify(int[] values, HeapOrder order, ForkJoinPool pool) {
+        IntHeap result = flipped(values, order);
+        Heapsort.parallelHeapify(result.heap, pool);
+        return result;
+    }
+
+    /**
+     * Добавляет элемент за O(log n).
+     *
+     * @param value элемент
+     */
+    public void push(int value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size + (size >> 1) + 1);
+        }
+        heap[size] = value ^ flip;
+        Heapsort.siftUp(heap, size);
+        size++;
+    }
+
+    /**
+     * Возвращает вершину очереди, не удаляя ее.
+     *
+     * @return наименьший или наибольший элемент в зависимости от порядка
+     * @throws NoSuchElementException если очередь пуста
+     */
+    public int peek() {
+        emptyCheck();
+        return heap[0] ^ flip;
+    }
+
+    /**
+     * Удаляет и возвращает вершину очереди за O(log n).
+     *
+     * @return наименьший или наибольший элемент в зависимости от порядка
+     * @throws NoSuchElementException если очередь пуста
+     */
+    public int pop() {
+        emptyCheck();
+        int top = heap[0];
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            Heapsort.siftDownBottomUp(heap, size, 0);
+        }
+        return top ^ flip;
+    }
+
+    /**
+     * Заменяет вершину новым элементом за один спуск; быстрее пары pop и push.
+     *
+     * @param value новый элемент
+     * @return прежняя вершина
+     * @throws NoSuchElementException если очередь пуста
+     */
+    public int replaceTop(int value) {
+        emptyCheck();
+        int top = heap[0];
+        heap[0] = value ^ flip;
+        Heapsort.siftDownBottomUp(heap, size, 0);
+        return top ^ flip;
+    }
+
+    /**
+     * Возвращает количество элементов.
+     *
+     * @return количество элементов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуста ли очередь.
+     *
+     * @return true если очередь пуста
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Удаляет все элементы, сохраняя выделенную память.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Возвращает порядок очереди.
+     *
+     * @return порядок очереди
+     */
+    public HeapOrder order() {
+        return order;
+    }
+
+    private static IntHeap flipped(int[] values, HeapOrder order) {
+        IntHeap result = new IntHeap(order, values.length);
+        for (int i = 0; i < values.length; i++) {
+            result.heap[i] = values[i] ^ result.flip;
+        }
+        result.size = values.length;
+        return result;
+    }
+
+    private void emptyCheck() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+    }
+}
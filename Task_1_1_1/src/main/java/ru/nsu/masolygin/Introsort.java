@@ -0,0 +1,102 @@
+package ru.nsu.masolygin;
+
+/**
+ * Интроспективная сортировка (Introsort).
+ *
+ * <p>Быстрая сортировка с выбором опорного элемента медианой трех, досортировкой
+ * коротких отрезков {@link SortingNetworks сортирующими сетями} и переходом на
+ * {@link Heapsort}, когда глубина рекурсии превышает 2·log2(n). Гарантирует
+ * O(n log n) в худшем случае.
+ */
+public class Introsort {
+    /**
+     * Сортирует массив целых чисел.
+     *
+     * @param arr Массив для сортировки
+     */
+    public static void sort(int[] arr) {
+        sortRange(arr, 0, arr.length);
+    }
+
+    /**
+     * Сортирует на месте отрезок массива [from, to).
+     *
+     * @param arr  Массив для сортировки
+     * @param from Индекс первого элемента отрезка (включительно)
+     * @param to   Индекс конца отрезка (не включительно)
+     * @throws IllegalArgumentException       если from &gt; to
+     * @throws ArrayIndexOutOfBoundsException если from &lt; 0 или to &gt; arr.length
+     */
+    public static void sort(int[] arr, int from, int to) {
+        Heapsort.rangeCheck(arr.length, from, to);
+        sortRange(arr, from, to);
+    }
+
+    static void sortRange(int[] arr, int from, int to) {
+        int n = to - from;
+        if (n > 1) {
+            introsort(arr, from, to, 2 * (31 - Integer.numberOfLeadingZeros(n)));
+        }
+    }
+
+    /**
+     * Сортирует отрезок [lo, hi), допуская не более depthLimit разбиений на пути рекурсии.
+     * Рекурсивно обрабатывается меньшая часть, большая продолжается в цикле.
+     */
+    static void introsort(int[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo > SortingNetworks.MAX_SIZE) {
+            if (depthLimit == 0) {
+                Heapsort.sortRange(arr, lo, hi);
+                return;
+            }
+            depthLimit--;
+            int p = partition(arr, lo, hi);
+            if (p - lo < hi - p - 1) {
+                introsort(arr, lo, p, depthLimit);
+                lo = p + 1;
+            } else {
+                introsort(arr, p + 1, hi, depthLimit);
+                hi = p;
+            }
+        }
+        SortingNetworks.sortRange(arr, lo, hi);
+    }
+
+    /**
+     * Разбивает отрезок [lo, hi) длиной не меньше четырех вокруг медианы трех элементов.
+     *
+     * @return итоговая позиция опорного элемента
+     */
+    private static int partition(int[] arr, int lo, int hi) {
+        int mid = lo + (hi - lo) / 2;
+        int last = hi - 1;
+        if (arr[mid] < arr[lo]) {
+            Heapsort.swap(arr, lo, mid);
+        }
+        if (arr[last] < arr[mid]) {
+            Heapsort.swap(arr, mid, last);
+            if (arr[mid] < arr[lo]) {
+                Heapsort.swap(arr, lo, mid);
+            }
+        }
+
+        int pivot = arr[mid];
+        Heapsort.swap(arr, mid, last - 1);
+        int i = lo;
+        int j = last - 1;
+        while (true) {
+            do {
+                i++;
+            } while (arr[i] < pivot);
+            do {
+                j--;
+            } while (arr[j] > pivot);
+            if (i >= j) {
+                break;
+            }
+            Heapsort.swap(arr, i, j);
+        }
+        Heapsort.swap(arr, i, last - 1);
+        return i;
+    }
+}
@@ -0,0 +1,165 @@
+package ru.nsu.masolygin;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * K-путевое слияние отсортированных по возрастанию массивов на дереве проигравших.
+ *
+ * <p>Дерево проигравших хранит во внутренних узлах проигравшие серии, а победителя —
+ * отдельно. После извлечения победителя его серия проходит путь от своего листа
+ * до корня, сравниваясь только с проигравшими на этом пути: ровно ⌈log2 k⌉ сравнений
+ * на элемент против примерно 2·log2 k у двоичной кучи. Общая сложность —
+ * O(N log k) для N элементов в k сериях.
+ */
+public class KWayMerge {
+    /**
+     * Сливает отсортированные массивы в новый отсортированный массив.
+     *
+     * @param runs массивы, каждый из которых отсортирован по возрастанию
+     * @return новый массив со всеми элементами в порядке возрастания
+     * @throws IllegalArgumentException если суммарная длина превышает
+     *                                  {@link Integer#MAX_VALUE}
+     */
+    public static int[] merge(int[]... runs) {
+        long total = 0;
+        for (int[] run : runs) {
+            total += run.length;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total length " + total + " is too large");
+        }
+        int[] result = new int[(int) total];
+        LoserTree tree = new LoserTree(runs, new int[runs.length], lengths(runs));
+        for (int i = 0; i < result.length; i++) {
+            result[i] = tree.pop();
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает итератор, лениво выдающий элементы всех массивов в порядке возрастания.
+     * Массивы не копируются и не должны изменяться во время обхода.
+     *
+     * @param runs массивы, каждый из которых отсортирован по возрастанию
+     * @return итератор по слиянию
+     */
+    public static PrimitiveIterator.OfInt iterator(int[]... runs) {
+        LoserTree tree = new LoserTree(runs, new int[runs.length], lengths(runs));
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return !tree.isEmpty();
+            }
+
+            @Override
+            public int nextInt() {
+                if (tree.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                return tree.pop();
+            }
+        };
+    }
+
+    /**
+     * Сливает серии src[starts[r], ends[r]) в dst начиная с dstPos.
+     */
+    static void merge(int[] src, int[] starts, int[] ends, int[] dst, int dstPos) {
+        int[][] arrays = new int[starts.length][];
+        int total = 0;
+        for (int run = 0; run < starts.length; run++) {
+            arrays[run] = src;
+            total += ends[run] - starts[run];
+        }
+        LoserTree tree = new LoserTree(arrays, starts.clone(), ends);
+        for (int i = 0; i < total; i++) {
+            dst[dstPos + i] = tree.pop();
+        }
+    }
+
+    private static int[] lengths(int[][] runs) {
+        int[] lengths = new int[runs.length];
+        for (int run = 0; run < runs.length; run++) {
+            lengths[run] = runs[run].length;
+        }
+        return lengths;
+    }
+
+    /**
+     * Дерево проигравших над сериями arrays[r][positions[r], ends[r]).
+     *
+     * <p>Лист серии r — узел r + k, внутренние узлы — 1 … k - 1, победитель — losers[0].
+     * Голова серии хранится в keys как long, а исчерпанная серия получает ключ
+     * {@link Long#MAX_VALUE}, который больше любого int. При равных ключах побеждает
+     * серия с меньшим номером, поэтому слияние устойчиво.
+     */
+    private static final class LoserTree {
+        private final int[][] arrays;
+        private final int[] positions;
+        private final int[] ends;
+        private final long[] keys;
+        private final int[] losers;
+        private final int k;
+
+        LoserTree(int[][] arrays, int[] positions, int[] ends) {
+            this.arrays = arrays;
+            this.positions = positions;
+            this.ends = ends;
+            this.k = arrays.length;
+            this.keys = new long[k];
+            this.losers = new int[Math.max(k, 1)];
+            for (int run = 0; run < k; run++) {
+                keys[run] = head(run);
+            }
+            if (k == 0) {
+                return;
+            }
+
+            int[] winners = new int[2 * k];
+            for (int run = 0; run < k; run++) {
+                winners[k + run] = run;
+            }
+            for (int node = k - 1; node >= 1; node--) {
+                int a = winners[2 * node];
+                int b = winners[2 * node + 1];
+                if (beats(a, b)) {
+                    winners[node] = a;
+                    losers[node] = b;
+                } else {
+                    winners[node] = b;
+                    losers[node] = a;
+                }
+            }
+            losers[0] = k == 1 ? 0 : winners[1];
+        }
+
+        boolean isEmpty() {
+            return k == 0 || keys[losers[0]] == Long.MAX_VALUE;
+        }
+
+        int pop() {
+            int winner = losers[0];
+            int value = (int) keys[winner];
+            positions[winner]++;
+            keys[winner] = head(winner);
+            for (int node = (winner + k) / 2; node >= 1; node /= 2) {
+                if (beats(losers[node], winner)) {
+                    int temp = losers[node];
+                    losers[node] = winner;
+                    winner = temp;
+                }
+            }
+            losers[0] = winner;
+            return value;
+        }
+
+        private long head(int run) {
+            return positions[run] < ends[run] ? arrays[run][positions[run]] : Long.MAX_VALUE;
+        }
+
+        private boolean beats(int a, int b) {
+            return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Двусторонняя приоритетная очередь целых чисел на min-max куче.
+ *
+ * <p>Уровни кучи чередуются: узлы четных уровней (начиная с корня) не больше
+ * всех своих потомков, узлы нечетных — не меньше. Поэтому минимум лежит в корне,
+ * а максимум — в одном из двух его потомков: {@link #peekMin()} и {@link #peekMax()}
+ * работают за O(1), извлечение с любой стороны — за O(log n). Один массив заменяет
+ * пару согласованных min- и max-куч.
+ */
+public class MinMaxHeap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] heap;
+    private int size;
+
+    /**
+     * Создает пустую очередь.
+     */
+    public MinMaxHeap() {
+        heap = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Создает очередь из всех элементов массива за O(n). Массив не изменяется.
+     *
+     * @param values элементы
+     * @return новая очередь
+     */
+    public static MinMaxHeap heapify(int[] values) {
+        MinMaxHeap result = new MinMaxHeap();
+        result.heap = Arrays.copyOf(values, Math.max(values.length, DEFAULT_CAPACITY));
+        result.size = values.length;
+        for (int i = result.size / 2 - 1; i >= 0; i--) {
+            result.trickleDown(i);
+        }
+        return result;
+    }
+
+    /**
+     * Добавляет элемент за O(log n).
+     *
+     * @param value элемент
+     */
+    public void push(int value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size + (size >> 1) + 1);
+        }
+        heap[size] = value;
+        bubbleUp(size);
+        size++;
+    }
+
+    /**
+     * Возвращает наименьший элемент, не удаляя его.
+     *
+     * @return наименьший элемент
+     * @throws NoSuchElementException если очередь пуста
+     */
+    public int peekMin() {
+        emptyCheck();
+        return heap[0];
+    }
+
+    /**
+     * Возвращает наибольший элемент, не удаляя его.
+     *
+     * @return наибольший элемент
+     * @throws NoSuchElementException если очередь пуста
+     */
+    public int peekMax() {
+        emptyCheck();
+        return heap[maxIndex()];
+    }
+
+    /**
+     * Удаляет и возвращает наименьший элемент.
+     *
+     * @return наименьший элемент
+     * @throws NoSuchElementException если очередь пуста
+     */
+    public int popMin() {
+        emptyCheck();
+        return removeAt(0);
+    }
+
+    /**
+     * Удаляет и возвращает наибольший элемент.
+     *
+     * @return наибольший элемент
+     * @throws NoSuchElementException если очередь пуста
+     */
+    public int popMax() {
+        emptyCheck();
+        return removeAt(maxIndex());
+    }
+
+    /**
+     * Возвращает количество элементов.
+     *
+     * @return количество элементов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуста ли очередь.
+     *
+     * @return true если очередь пуста
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int maxIndex() {
+        if (size == 1) {
+            return 0;
+        }
+        if (size == 2 || heap[1] >= heap[2]) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private int removeAt(int i) {
+        int value = heap[i];
+        size--;
+        if (i < size) {
+            heap[i] = heap[size];
+            trickleDown(i);
+        }
+        return value;
+    }
+
+    private static boolean isMinLevel(int i) {
+        return ((31 - Integer.numberOfLeadingZeros(i + 1)) & 1) == 0;
+    }
+
+    private void bubbleUp(int i) {
+        if (i == 0) {
+            return;
+        }
+        int parent = (i - 1) / 2;
+        if (isMinLevel(i)) {
+            if (heap[i] > heap[parent]) {
+                Heapsort.swap(heap, i, parent);
+                bubbleUpMax(parent);
+            } else {
+                bubbleUpMin(i);
+            }
+        } else {
+            if (heap[i] < heap[parent]) {
+                Heapsort.swap(heap, i, parent);
+                bubbleUpMin(parent);
+            } else {
+                bubbleUpMax(i);
+            }
+        }
+    }
+
+    private void bubbleUpMin(int i) {
+        while (i > 2) {
+            int grandparent = ((i - 1) / 2 - 1) / 2;
+            if (heap[i] >= heap[grandparent]) {
+                break;
+            }
+            Heapsort.swap(heap, i, grandparent);
+            i = grandparent;
+        }
+    }
+
+    private void bubbleUpMax(int i) {
+        while (i > 2) {
+            int grandparent = ((i - 1) / 2 - 1) / 2;
+            if (heap[i] <= heap[grandparent]) {
+                break;
+            }
+            Heapsort.swap(heap, i, grandparent);
+            i = grandparent;
+        }
+    }
+
+    private void trickleDown(int i) {
+        if (isMinLevel(i)) {
+            trickleDownMin(i);
+        } else {
+            trickleDownMax(i);
+        }
+    }
+
+    /**
+     * Опускает элемент по уровням минимумов: на каждом шаге сравнивает его
+     * с наименьшим из потомков и внуков (до шести элементов).
+     */
+    private void trickleDownMin(int i) {
+        while (i < size / 2) {
+            int m = 2 * i + 1;
+            if (m + 1 < size && heap[m + 1] < heap[m]) {
+                m++;
+            }
+            if (4L * i + 3 < size) {
+                int last = (int) Math.min(4L * i + 7, size);
+                for (int j = 4 * i + 3; j < last; j++) {
+                    if (heap[j] < heap[m]) {
+                        m = j;
+                    }
+                }
+            }
+            if (heap[m] >= heap[i]) {
+                return;
+            }
+            Heapsort.swap(heap, i, m);
+            if (m <= 2 * i + 2) {
+                return;
+            }
+            int parent = (m - 1) / 2;
+            if (heap[m] > heap[parent]) {
+                Heapsort.swap(heap, m, parent);
+            }
+            i = m;
+        }
+    }
+
+    /**
+     * Зеркальная к {@link #trickleDownMin(int)} процедура для уровней максимумов.
+     */
+    private void trickleDownMax(int i) {
+        while (i < size / 2) {
+            int m = 2 * i + 1;
+            if (m + 1 < size && heap[m + 1] > heap[m]) {
+                m++;
+            }
+            if (4L * i + 3 < size) {
+                int last = (int) Math.min(4L * i + 7, size);
+                for (int j = 4 * i + 3; j < last; j++) {
+                    if (heap[j] > heap[m]) {
+                        m = j;
+                    }
+                }
+            }
+            if (heap[m] <= heap[i]) {
+                return;
+            }
+            Heapsort.swap(heap, i, m);
+            if (m <= 2 * i + 2) {
+                return;
+            }
+            int parent = (m - 1) / 2;
+            if (heap[m] < heap[parent]) {
+                Heapsort.swap(heap, m, parent);
+            }
+            i = m;
+        }
+    }
+
+    private void emptyCheck() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+    }
+}
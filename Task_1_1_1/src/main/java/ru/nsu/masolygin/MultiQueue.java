@@ -0,0 +1,250 @@
+package ru.nsu.masolygin;
+
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ослабленная конкурентная приоритетная очередь чисел типа int (MultiQueue).
+ *
+ * <p>Состоит из нескольких независимых {@link IntHeap}, каждая под своей
+ * блокировкой. Вставка кладет элемент в случайную кучу; извлечение смотрит на
+ * вершины двух случайных куч и забирает лучшую. Блокировки берутся только
+ * через tryLock: занятая куча не ждет, а заменяется другой случайной, поэтому
+ * потоки почти не мешают друг другу. Порядок приблизительный: извлеченный
+ * элемент в среднем отстоит от истинной вершины на O(число куч) позиций, а при
+ * одной куче порядок точный.
+ *
+ * <p>Вершины и размеры куч дублируются в volatile-полях, так что выбор кучи
+ * не требует блокировок. Эти поля окружены заполнением, чтобы записи в одну кучу
+ * не сбрасывали кэш-линии, из которых другие потоки читают соседние. Методы
+ * {@link #size()} и {@link #isEmpty()} при одновременных изменениях дают
+ * приблизительный ответ.
+ */
+public class MultiQueue {
+    /**
+     * Число куч на поток по умолчанию.
+     */
+    public static final int DEFAULT_QUEUES_PER_THREAD = 2;
+
+    private final HeapOrder order;
+    private final Lane[] lanes;
+
+    /**
+     * Создает очередь из {@value #DEFAULT_QUEUES_PER_THREAD} куч на каждый доступный
+     * процессор.
+     *
+     * @param order порядок очереди
+     */
+    public MultiQueue(HeapOrder order) {
+        this(order, DEFAULT_QUEUES_PER_THREAD * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Создает очередь из заданного числа куч.
+     *
+     * @param order      порядок очереди
+     * @param queueCount число куч
+     * @throws IllegalArgumentException если queueCount &lt; 1
+     */
+    public MultiQueue(HeapOrder order, int queueCount) {
+        if (queueCount < 1) {
+            throw new IllegalArgumentException("Queue count must be positive: " + queueCount);
+        }
+        this.order = order;
+        this.lanes = new Lane[queueCount];
+        for (int i = 0; i < queueCount; i++) {
+            lanes[i] = new Lane(order);
+        }
+    }
+
+    /**
+     * Добавляет элемент в случайную свободную кучу.
+     *
+     * @param value элемент
+     */
+    public void push(int value) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Lane lane = lanes[random.nextInt(lanes.length)];
+            if (lane.lock.tryLock()) {
+                try {
+                    lane.heap.push(value);
+                    lane.publish();
+                    return;
+                } finally {
+                    lane.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Извлекает лучший из элементов на вершинах двух случайных куч.
+     *
+     * <p>Если обе выбранные кучи пусты, просматриваются все кучи по очереди.
+     * Просмотр не линеаризуем: элемент, добавленный в уже просмотренную кучу,
+     * пропускается, поэтому пустой результат возможен, пока другие потоки
+     * добавляют элементы. Без одновременных вставок пустой результат означает,
+     * что очередь пуста.
+     *
+     * @return извлеченный элемент или пустое значение, если очередь пуста
+     */
+    public OptionalInt poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Lane first = lanes[random.nextInt(lanes.length)];
+            Lane second = lanes[random.nextInt(lanes.length)];
+            Lane best = better(first, second) ? first : second;
+            if (best.size == 0) {
+                return pollAny();
+            }
+            if (best.lock.tryLock()) {
+                try {
+                    if (!best.heap.isEmpty()) {
+                        int value = best.heap.pop();
+                        best.publish();
+                        return OptionalInt.of(value);
+                    }
+                } finally {
+                    best.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Возвращает число элементов во всех кучах.
+     *
+     * @return число элементов
+     */
+    public int size() {
+        int size = 0;
+        for (Lane lane : lanes) {
+            size += lane.size;
+        }
+        return size;
+    }
+
+    /**
+     * Проверяет, пусты ли все кучи.
+     *
+     * @return true если очередь пуста
+     */
+    public boolean isEmpty() {
+        for (Lane lane : lanes) {
+            if (lane.size > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Возвращает порядок очереди.
+     *
+     * @return порядок очереди
+     */
+    public HeapOrder order() {
+        return order;
+    }
+
+    /**
+     * Проверяет, лучше ли вершина a вершины b; пустая куча хуже любой непустой.
+     */
+    private boolean better(Lane a, Lane b) {
+        if (a.size == 0 || b.size == 0) {
+            return b.size == 0;
+        }
+        return order == HeapOrder.MIN ? a.top <= b.top : a.top >= b.top;
+    }
+
+    /**
+     * Обходит все кучи с ожиданием блокировок и забирает вершину первой непустой.
+     * Блокировки берутся по одной, так что вставка в уже пройденную кучу не видна.
+     */
+    private OptionalInt pollAny() {
+        int start = ThreadLocalRandom.current().nextInt(lanes.length);
+        for (int k = 0; k < lanes.length; k++) {
+            Lane lane = lanes[(start + k) % lanes.length];
+            if (lane.size == 0) {
+                continue;
+            }
+            lane.lock.lock();
+            try {
+                if (!lane.heap.isEmpty()) {
+                    int value = lane.heap.pop();
+                    lane.publish();
+                    return OptionalInt.of(value);
+                }
+            } finally {
+                lane.lock.unlock();
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Заполнение перед полями {@link LaneFields}. Поля суперкласса в объекте
+     * располагаются раньше полей подкласса, так что 64 байта заполнения отделяют
+     * top и size от предыдущего объекта в куче JVM.
+     */
+    @SuppressWarnings("unused")
+    private abstract static class LanePadding {
+        private long p0;
+        private long p1;
+        private long p2;
+        private long p3;
+        private long p4;
+        private long p5;
+        private long p6;
+        private long p7;
+    }
+
+    /**
+     * Часто изменяемые поля кучи, читаемые другими потоками без блокировки.
+     */
+    private abstract static class LaneFields extends LanePadding {
+        volatile int top;
+        volatile int size;
+    }
+
+    /**
+     * Заполнение после полей {@link LaneFields}: соседние кучи не делят с ними
+     * кэш-линию.
+     */
+    @SuppressWarnings("unused")
+    private abstract static class LaneTrailingPadding extends LaneFields {
+        private long q0;
+        private long q1;
+        private long q2;
+        private long q3;
+        private long q4;
+        private long q5;
+        private long q6;
+        private long q7;
+    }
+
+    /**
+     * Куча со своей блокировкой и опубликованными для чтения без блокировки
+     * вершиной и размером.
+     */
+    private static final class Lane extends LaneTrailingPadding {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final IntHeap heap;
+
+        Lane(HeapOrder order) {
+            heap = new IntHeap(order);
+        }
+
+        /**
+         * Обновляет вершину и размер после изменения кучи; вызывается под блокировкой.
+         */
+        void publish() {
+            if (!heap.isEmpty()) {
+                top = heap.peek();
+            }
+            size = heap.size();
+        }
+    }
+}
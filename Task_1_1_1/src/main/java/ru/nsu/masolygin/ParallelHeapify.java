@@ -0,0 +1,106 @@
+package ru.nsu.masolygin;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Параллельное построение max-кучи на отрезке массива.
+ *
+ * <p>Просеивание узла затрагивает только его поддерево, поэтому поддеревья
+ * с общим предком независимы. Задача для узла сначала строит кучи в обоих
+ * поддеревьях (параллельно, пока поддерево крупнее порога), затем просеивает
+ * сам узел. Глубокие поддеревья обрабатываются одновременно, а верхние уровни —
+ * по мере завершения потомков. Каждый узел просеивается после всех своих
+ * потомков, как и в последовательном цикле, поэтому результат совпадает
+ * с ним побитно.
+ *
+ * <p>Версия для long повторяет int-версию для кучи, занимающей начало массива.
+ */
+final class ParallelHeapify {
+    private ParallelHeapify() {
+    }
+
+    /**
+     * Строит max-кучу на отрезке [from, to), обрабатывая последовательно
+     * поддеревья не крупнее threshold узлов.
+     */
+    static void heapify(int[] arr, int from, int to, int threshold, ForkJoinPool pool) {
+        int n = to - from;
+        if (n <= threshold) {
+            heapifySubtree(arr, from, n, 0);
+            return;
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> heapifyNode(arr, from, n, 0, threshold)));
+    }
+
+    /**
+     * Строит кучу в поддереве узла node: крупные поддеревья потомков параллельно,
+     * затем просеивает сам узел.
+     */
+    private static void heapifyNode(int[] arr, int base, int n, int node, int threshold) {
+        if (n / (node + 1L) <= threshold) {
+            heapifySubtree(arr, base, n, node);
+            return;
+        }
+        ForkJoinTask.invokeAll(
+                ForkJoinTask.adapt(() -> heapifyNode(arr, base, n, 2 * node + 1, threshold)),
+                ForkJoinTask.adapt(() -> heapifyNode(arr, base, n, 2 * node + 2, threshold)));
+        Heapsort.siftDownBottomUp(arr, base, n, node);
+    }
+
+    /**
+     * Последовательно строит кучу в поддереве узла root, уровень за уровнем снизу вверх.
+     */
+    private static void heapifySubtree(int[] arr, int base, int n, int root) {
+        long lastInternal = n / 2 - 1;
+        int levels = 0;
+        for (long first = root; first <= lastInternal; first = 2 * first + 1) {
+            levels++;
+        }
+        for (int depth = levels - 1; depth >= 0; depth--) {
+            long first = ((root + 1L) << depth) - 1;
+            long last = Math.min(((root + 2L) << depth) - 2, lastInternal);
+            for (long i = last; i >= first; i--) {
+                Heapsort.siftDownBottomUp(arr, base, n, (int) i);
+            }
+        }
+    }
+
+    /**
+     * Строит max-кучу из первых n элементов массива, обрабатывая последовательно
+     * поддеревья не крупнее threshold узлов.
+     */
+    static void heapify(long[] arr, int n, int threshold, ForkJoinPool pool) {
+        if (n <= threshold) {
+            heapifySubtree(arr, n, 0);
+            return;
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> heapifyNode(arr, n, 0, threshold)));
+    }
+
+    private static void heapifyNode(long[] arr, int n, int node, int threshold) {
+        if (n / (node + 1L) <= threshold) {
+            heapifySubtree(arr, n, node);
+            return;
+        }
+        ForkJoinTask.invokeAll(
+                ForkJoinTask.adapt(() -> heapifyNode(arr, n, 2 * node + 1, threshold)),
+                ForkJoinTask.adapt(() -> heapifyNode(arr, n, 2 * node + 2, threshold)));
+        Heapsort.siftDownBottomUp(arr, n, node);
+    }
+
+    private static void heapifySubtree(long[] arr, int n, int root) {
+        long lastInternal = n / 2 - 1;
+        int levels = 0;
+        for (long first = root; first <= lastInternal; first = 2 * first + 1) {
+            levels++;
+        }
+        for (int depth = levels - 1; depth >= 0; depth--) {
+            long first = ((root + 1L) << depth) - 1;
+            long last = Math.min(((root + 2L) << depth) - 2, lastInternal);
+            for (long i = last; i >= first; i--) {
+                Heapsort.siftDownBottomUp(arr, n, (int) i);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package ru.nsu.masolygin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Параллельная сортировка кучей: сегменты сортируются независимо, затем сливаются.
+ */
+final class ParallelHeapsort {
+    private ParallelHeapsort() {
+    }
+
+    static void sort(int[] arr, int threshold, ForkJoinPool pool) {
+        int n = arr.length;
+        int segments = Math.min(pool.getParallelism(), n / threshold);
+        if (segments <= 1) {
+            Heapsort.sortRange(arr, 0, n);
+            return;
+        }
+
+        int[] bounds = new int[segments + 1];
+        for (int i = 0; i <= segments; i++) {
+            bounds[i] = (int) ((long) n * i / segments);
+        }
+        int[] buffer = new int[n];
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            List<ForkJoinTask<?>> sorts = new ArrayList<>(segments);
+            for (int i = 0; i < segments; i++) {
+                int from = bounds[i];
+                int to = bounds[i + 1];
+                sorts.add(ForkJoinTask.adapt(() -> Heapsort.sortRange(arr, from, to)));
+            }
+            ForkJoinTask.invokeAll(sorts);
+
+            int[][] cuts = cuts(arr, bounds, segments);
+            List<ForkJoinTask<?>> merges = new ArrayList<>(segments);
+            for (int part = 0; part < segments; part++) {
+                int[] starts = cuts[part];
+                int[] ends = cuts[part + 1];
+                int offset = 0;
+                for (int run = 0; run < segments; run++) {
+                    offset += starts[run] - bounds[run];
+                }
+                int dstPos = offset;
+                merges.add(ForkJoinTask.adapt(
+                        () -> KWayMerge.merge(arr, starts, ends, buffer, dstPos)));
+            }
+            ForkJoinTask.invokeAll(merges);
+        }));
+        System.arraycopy(buffer, 0, arr, 0, n);
+    }
+
+    /**
+     * Делит отсортированные серии на parts частей по значениям-разделителям.
+     * cuts[p][r] — начало p-й части в серии r; cuts[0] и cuts[parts] совпадают
+     * с границами серий. Разделители берутся из равномерной выборки всех серий.
+     *
+     * <p>Элементы сравниваются как тройки (значение, серия, позиция), поэтому все
+     * элементы различны, и при множестве равных значений части остаются примерно
+     * равными: разделитель, попавший на серию равных, режет ее по своей позиции.
+     */
+    static int[][] cuts(int[] arr, int[] bounds, int parts) {
+        int runs = bounds.length - 1;
+        long[] samples = new long[runs * parts];
+        for (int run = 0; run < runs; run++) {
+            for (int j = 0; j < parts; j++) {
+                int index = run * parts + j;
+                samples[index] = (long) arr[samplePosition(bounds, parts, index)] << 32 | index;
+            }
+        }
+        Heapsort.heapsort(samples);
+
+        int[][] cuts = new int[parts + 1][runs];
+        for (int run = 0; run < runs; run++) {
+            cuts[0][run] = bounds[run];
+            cuts[parts][run] = bounds[run + 1];
+        }
+        for (int part = 1; part < parts; part++) {
+            long splitter = samples[part * samples.length / parts];
+            int value = (int) (splitter >> 32);
+            int index = (int) splitter;
+            int splitterRun = index / parts;
+            for (int run = 0; run < runs; run++) {
+                int from = bounds[run];
+                int to = bounds[run + 1];
+                if (run < splitterRun) {
+                    cuts[part][run] = upperBound(arr, from, to, value);
+                } else if (run > splitterRun) {
+                    cuts[part][run] = lowerBound(arr, from, to, value);
+                } else {
+                    cuts[part][run] = samplePosition(bounds, parts, index);
+                }
+            }
+        }
+        return cuts;
+    }
+
+    /**
+     * Позиция элемента выборки с номером index: (index % parts)-я из parts
+     * равномерно расставленных точек серии index / parts.
+     */
+    private static int samplePosition(int[] bounds, int parts, int index) {
+        int run = index / parts;
+        int length = bounds[run + 1] - bounds[run];
+        return bounds[run] + (int) ((long) length * (index % parts) / parts);
+    }
+
+    private static int lowerBound(int[] arr, int from, int to, int value) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (arr[mid] < value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    private static int upperBound(int[] arr, int from, int to, int value) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (arr[mid] <= value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+}
@@ -0,0 +1,145 @@
+package ru.nsu.masolygin;
+
+import java.lang.reflect.Array;
+
+/**
+ * Применение перестановок к параллельным массивам.
+ */
+public class Permutations {
+    /**
+     * Переупорядочивает на месте все переданные массивы так, что новый элемент i
+     * равен прежнему элементу permutation[i] — в том виде, в каком перестановку
+     * возвращает {@link Heapsort#argsort(int[])}.
+     *
+     * <p>Перестановка обходится по циклам один раз, и на каждом шаге цикла элементы
+     * меняются местами во всех массивах сразу. Дополнительная память — n булевых флагов.
+     *
+     * <p>Первый массив вынесен в отдельный параметр, чтобы единственный массив объектов
+     * (например, {@code String[]}) не раскрывался в элементы varargs. Массив объектов
+     * в позиции rest распознается по типу и тоже считается одним столбцом; исключение —
+     * массив ровно типа {@code Object[]}, который Java передает как список столбцов.
+     *
+     * @param permutation перестановка чисел 0 … n - 1
+     * @param first       массив длины n: примитивный или массив объектов
+     * @param rest        остальные массивы длины n
+     * @throws IllegalArgumentException если permutation не является перестановкой,
+     *                                  длины массивов не совпадают или аргумент не массив
+     */
+    public static void apply(int[] permutation, Object first, Object... rest) {
+        Object[] arrays = columns(first, rest);
+        int n = permutation.length;
+        for (Object array : arrays) {
+            if (length(array) != n) {
+                throw new IllegalArgumentException("Array length " + length(array)
+                        + " does not match permutation length " + n);
+            }
+        }
+        boolean[] pending = new boolean[n];
+        for (int target : permutation) {
+            if (target < 0 || target >= n || pending[target]) {
+                throw new IllegalArgumentException("Not a permutation: " + target);
+            }
+            pending[target] = true;
+        }
+
+        for (int start = 0; start < n; start++) {
+            if (!pending[start]) {
+                continue;
+            }
+            int i = start;
+            pending[i] = false;
+            for (int next = permutation[i]; next != start; next = permutation[i]) {
+                swapAll(arrays, i, next);
+                i = next;
+                pending[i] = false;
+            }
+        }
+    }
+
+    /**
+     * Собирает столбцы из первого массива и остальных. Если rest — не массив varargs,
+     * созданный компилятором, а переданный напрямую типизированный массив объектов,
+     * он считается одним столбцом.
+     */
+    static Object[] columns(Object first, Object[] rest) {
+        if (rest.getClass() != Object[].class) {
+            return new Object[]{first, rest};
+        }
+        Object[] result = new Object[rest.length + 1];
+        result[0] = first;
+        System.arraycopy(rest, 0, result, 1, rest.length);
+        return result;
+    }
+
+    /**
+     * Меняет местами элементы i и j во всех массивах.
+     */
+    static void swapAll(Object[] arrays, int i, int j) {
+        for (Object array : arrays) {
+            swap(array, i, j);
+        }
+    }
+
+    /**
+     * Меняет местами элементы i и j массива любого типа без упаковки примитивов.
+     */
+    static void swap(Object array, int i, int j) {
+        if (array instanceof int[]) {
+            Heapsort.swap((int[]) array, i, j);
+        } else if (array instanceof long[]) {
+            long[] a = (long[]) array;
+            long temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        } else if (array instanceof double[]) {
+            double[] a = (double[]) array;
+            double temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        } else if (array instanceof Object[]) {
+            Object[] a = (Object[]) array;
+            Object temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        } else if (array instanceof float[]) {
+            float[] a = (float[]) array;
+            float temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        } else if (array instanceof short[]) {
+            short[] a = (short[]) array;
+            short temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        } else if (array instanceof char[]) {
+            char[] a = (char[]) array;
+            char temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        } else if (array instanceof byte[]) {
+            byte[] a = (byte[]) array;
+            byte temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        } else if (array instanceof boolean[]) {
+            boolean[] a = (boolean[]) array;
+            boolean temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        } else {
+            throw new IllegalArgumentException("Not an array: " + array);
+        }
+    }
+
+    /**
+     * Возвращает длину массива любого типа.
+     *
+     * @throws IllegalArgumentException если аргумент не массив
+     */
+    static int length(Object array) {
+        if (array == null || !array.getClass().isArray()) {
+            throw new IllegalArgumentException("Not an array: " + array);
+        }
+        return Array.getLength(array);
+    }
+}
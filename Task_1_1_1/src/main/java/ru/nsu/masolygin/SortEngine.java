@@ -0,0 +1,32 @@
+package ru.nsu.masolygin;
+
+/**
+ * Алгоритм, выбранный {@link AdaptiveSort} для конкретного входа.
+ */
+public enum SortEngine {
+    /**
+     * Сортировка вставками: короткие и почти упорядоченные массивы.
+     */
+    INSERTION,
+
+    /**
+     * {@link SortingNetworks Сортирующая сеть}: неупорядоченные массивы длиной до 16.
+     */
+    NETWORK,
+
+    /**
+     * Сортировка подсчетом: узкий диапазон значений.
+     */
+    COUNTING,
+
+    /**
+     * Поразрядная LSD-сортировка по байтам: большие массивы, если хватает памяти на буфер.
+     */
+    RADIX,
+
+    /**
+     * Пирамидальная сортировка {@link Heapsort}: короткие массивы с широким диапазоном
+     * и большие массивы, для буфера которых не хватает памяти.
+     */
+    HEAP
+}
@@ -0,0 +1,127 @@
+package ru.nsu.masolygin;
+
+/**
+ * Сортирующие сети для массивов длиной от 2 до {@value #MAX_SIZE}.
+ *
+ * <p>Сеть — фиксированная последовательность операций сравнения-обмена, не зависящая
+ * от данных. Сравнение-обмен записывается через {@link Math#min} и {@link Math#max},
+ * которые JIT превращает в условные пересылки, поэтому сортировка не содержит
+ * непредсказуемых ветвлений. Для n &le; 12 и n = 16 сети минимальны по числу
+ * компараторов (для 16 это 60 компараторов), для 13–15 получены отбрасыванием
+ * крайних входов сети на 16. Каждая сеть проверена на всех 2^n входах из нулей
+ * и единиц, что по 0-1 принципу доказывает ее корректность.
+ */
+public class SortingNetworks {
+    /**
+     * Наибольшая длина, для которой есть сеть.
+     */
+    public static final int MAX_SIZE = 16;
+
+    /**
+     * Сети по длине: пары индексов (i, j), i &lt; j, подряд в порядке применения.
+     */
+    private static final byte[][] NETWORKS = {
+        {},
+        {},
+        // n = 2
+        {0, 1},
+        // n = 3
+        {0, 2, 0, 1, 1, 2},
+        // n = 4
+        {0, 2, 1, 3, 0, 1, 2, 3, 1, 2},
+        // n = 5
+        {0, 3, 1, 4, 0, 2, 1, 3, 0, 1, 2, 4, 1, 2, 3, 4, 2, 3},
+        // n = 6
+        {0, 5, 1, 3, 2, 4, 1, 2, 3, 4, 0, 3, 2, 5, 0, 1, 2, 3, 4, 5, 1, 2, 3, 4},
+        // n = 7
+        {0, 6, 2, 3, 4, 5, 0, 2, 1, 4, 3, 6, 0, 1, 2, 5, 3, 4, 1, 2, 4, 6, 2, 3, 4, 5, 1, 2, 3, 4,
+            5, 6},
+        // n = 8
+        {0, 2, 1, 3, 4, 6, 5, 7, 0, 4, 1, 5, 2, 6, 3, 7, 0, 1, 2, 3, 4, 5, 6, 7, 2, 4, 3, 5, 1, 4,
+            3, 6, 1, 2, 3, 4, 5, 6},
+        // n = 9
+        {0, 3, 1, 7, 2, 5, 4, 8, 0, 7, 2, 4, 3, 8, 5, 6, 0, 2, 1, 3, 4, 5, 7, 8, 1, 4, 3, 6, 5, 7,
+            0, 1, 2, 4, 3, 5, 6, 8, 2, 3, 4, 5, 6, 7, 1, 2, 3, 4, 5, 6},
+        // n = 10
+        {0, 8, 1, 9, 2, 7, 3, 5, 4, 6, 0, 2, 1, 4, 5, 8, 7, 9, 0, 3, 2, 4, 5, 7, 6, 9, 0, 1, 3, 6,
+            8, 9, 1, 5, 2, 3, 4, 8, 6, 7, 1, 2, 3, 5, 4, 6, 7, 8, 2, 3, 4, 5, 6, 7, 3, 4, 5, 6},
+        // n = 11
+        {0, 9, 1, 6, 2, 4, 3, 7, 5, 8, 0, 1, 3, 5, 4, 10, 6, 9, 7, 8, 1, 3, 2, 5, 4, 7, 8, 10, 0,
+            4, 1, 2, 3, 7, 5, 9, 6, 8, 0, 1, 2, 6, 4, 5, 7, 8, 9, 10, 2, 4, 3, 6, 5, 7, 8, 9, 1,
+            2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7},
+        // n = 12
+        {0, 8, 1, 7, 2, 6, 3, 11, 4, 10, 5, 9, 0, 1, 2, 5, 3, 4, 6, 9, 7, 8, 10, 11, 0, 2, 1, 6,
+            5, 10, 9, 11, 0, 3, 1, 2, 4, 6, 5, 7, 8, 11, 9, 10, 1, 4, 3, 5, 6, 8, 7, 10, 1, 3, 2,
+            5, 6, 9, 8, 10, 2, 3, 4, 5, 6, 7, 8, 9, 4, 6, 5, 7, 3, 4, 5, 6, 7, 8},
+        // n = 13
+        {1, 12, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4, 11, 12, 0, 1, 2, 3, 4, 5, 6, 8,
+            7, 9, 10, 11, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9,
+            11, 1, 4, 2, 6, 5, 8, 7, 10, 2, 4, 3, 6, 9, 12, 3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6,
+            7, 8, 9, 10, 11, 12, 6, 7, 8, 9},
+        // n = 14
+        {0, 13, 1, 12, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 11, 12, 0, 1, 2,
+            3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 1, 2, 3,
+            12, 4, 6, 5, 7, 8, 10, 9, 11, 1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 2, 4, 3, 6, 9, 12, 11,
+            13, 3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9},
+        // n = 15
+        {0, 13, 1, 12, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 11,
+            12, 0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8,
+            9, 12, 14, 1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14, 1, 4, 2, 6, 5, 8, 7, 10, 9,
+            13, 11, 14, 2, 4, 3, 6, 9, 12, 11, 13, 3, 5, 6, 8, 7, 9, 10, 12, 3, 4, 5, 6, 7, 8, 9,
+            10, 11, 12, 6, 7, 8, 9},
+        // n = 16
+        {0, 13, 1, 12, 2, 15, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10, 0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8,
+            14, 10, 15, 11, 12, 0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 14, 15, 0, 2, 1, 3,
+            4, 10, 5, 11, 6, 7, 8, 9, 12, 14, 13, 15, 1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13,
+            14, 1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14, 2, 4, 3, 6, 9, 12, 11, 13, 3, 5, 6, 8, 7,
+            9, 10, 12, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 6, 7, 8, 9}
+    };
+
+    /**
+     * Сортирует массив длиной не больше {@value #MAX_SIZE}.
+     *
+     * @param arr Массив для сортировки
+     * @throws IllegalArgumentException если длина больше {@value #MAX_SIZE}
+     */
+    public static void sort(int[] arr) {
+        sizeCheck(arr.length);
+        sortRange(arr, 0, arr.length);
+    }
+
+    /**
+     * Сортирует отрезок массива [from, to) длиной не больше {@value #MAX_SIZE}.
+     *
+     * @param arr  Массив для сортировки
+     * @param from Индекс первого элемента отрезка (включительно)
+     * @param to   Индекс конца отрезка (не включительно)
+     * @throws IllegalArgumentException       если from &gt; to или длина отрезка больше
+     *                                        {@value #MAX_SIZE}
+     * @throws ArrayIndexOutOfBoundsException если from &lt; 0 или to &gt; arr.length
+     */
+    public static void sort(int[] arr, int from, int to) {
+        Heapsort.rangeCheck(arr.length, from, to);
+        sizeCheck(to - from);
+        sortRange(arr, from, to);
+    }
+
+    /**
+     * Сортирует отрезок [from, to) длиной не больше {@value #MAX_SIZE} без проверок.
+     */
+    static void sortRange(int[] arr, int from, int to) {
+        byte[] network = NETWORKS[to - from];
+        for (int k = 0; k < network.length; k += 2) {
+            int i = from + network[k];
+            int j = from + network[k + 1];
+            int a = arr[i];
+            int b = arr[j];
+            arr[i] = Math.min(a, b);
+            arr[j] = Math.max(a, b);
+        }
+    }
+
+    private static void sizeCheck(int n) {
+        if (n > MAX_SIZE) {
+            throw new IllegalArgumentException("Length exceeds " + MAX_SIZE + ": " + n);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Потоковый отбор k наибольших значений с памятью O(k).
+ *
+ * <p>Хранит min-кучу из k элементов на ядрах {@link Heapsort}: в массиве лежат
+ * побитовые дополнения значений, так что max-куча над ними упорядочена по
+ * минимуму. Каждое значение обрабатывается за O(log k). Экземпляры можно
+ * объединять методом {@link #combine(TopKCollector)}, поэтому коллектор подходит
+ * для {@link IntStream#collect} на параллельных потоках.
+ */
+public class TopKCollector implements IntConsumer {
+    private final int[] heap;
+    private int size;
+
+    /**
+     * Создает пустой коллектор.
+     *
+     * @param k количество сохраняемых наибольших значений
+     * @throws IllegalArgumentException если k &lt; 0
+     */
+    public TopKCollector(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative: " + k);
+        }
+        heap = new int[k];
+    }
+
+    /**
+     * Возвращает k наибольших значений потока в порядке возрастания.
+     * Параллельные потоки собираются в отдельные коллекторы и затем объединяются.
+     *
+     * @param stream поток значений
+     * @param k      количество значений
+     * @return отсортированный массив длины не больше k
+     */
+    public static int[] topK(IntStream stream, int k) {
+        return stream.collect(() -> new TopKCollector(k), TopKCollector::accept,
+                TopKCollector::combine).snapshot();
+    }
+
+    /**
+     * Учитывает очередное значение.
+     *
+     * @param value значение
+     */
+    @Override
+    public void accept(int value) {
+        int inverted = ~value;
+        if (size < heap.length) {
+            heap[size] = inverted;
+            Heapsort.siftUp(heap, size);
+            size++;
+        } else if (size > 0 && inverted < heap[0]) {
+            heap[0] = inverted;
+            Heapsort.siftDownBottomUp(heap, size, 0);
+        }
+    }
+
+    /**
+     * Учитывает все значения потока. Поток потребляется последовательно.
+     *
+     * @param stream поток значений
+     * @return этот коллектор
+     */
+    public TopKCollector addAll(IntStream stream) {
+        stream.sequential().forEach(this);
+        return this;
+    }
+
+    /**
+     * Учитывает все оставшиеся значения итератора.
+     *
+     * @param iterator итератор значений
+     * @return этот коллектор
+     */
+    public TopKCollector addAll(PrimitiveIterator.OfInt iterator) {
+        while (iterator.hasNext()) {
+            accept(iterator.nextInt());
+        }
+        return this;
+    }
+
+    /**
+     * Учитывает очередной блок значений целиком.
+     *
+     * @param chunk блок значений
+     * @return этот коллектор
+     */
+    public TopKCollector addAll(int[] chunk) {
+        return addAll(chunk, 0, chunk.length);
+    }
+
+    /**
+     * Учитывает значения блока из отрезка [from, to).
+     *
+     * @param chunk блок значений
+     * @param from  индекс первого значения (включительно)
+     * @param to    индекс конца отрезка (не включительно)
+     * @return этот коллектор
+     * @throws IllegalArgumentException       если from &gt; to
+     * @throws ArrayIndexOutOfBoundsException если отрезок выходит за границы блока
+     */
+    public TopKCollector addAll(int[] chunk, int from, int to) {
+        Heapsort.rangeCheck(chunk.length, from, to);
+        for (int i = from; i < to; i++) {
+            accept(chunk[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Добавляет к этому коллектору значения другого коллектора с тем же k.
+     *
+     * @param other другой коллектор
+     * @return этот коллектор
+     * @throws IllegalArgumentException если коллекторы созданы с разными k
+     */
+    public TopKCollector combine(TopKCollector other) {
+        if (other.heap.length != heap.length) {
+            throw new IllegalArgumentException("Cannot combine top-" + heap.length
+                    + " with top-" + other.heap.length);
+        }
+        for (int i = 0; i < other.size; i++) {
+            accept(~other.heap[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Возвращает текущие k наибольших значений в порядке возрастания,
+     * не изменяя состояние коллектора.
+     *
+     * @return новый отсортированный массив длины {@link #size()}
+     */
+    public int[] snapshot() {
+        int[] result = Arrays.copyOf(heap, size);
+        Heapsort.sortInverted(result, size);
+        return result;
+    }
+
+    /**
+     * Возвращает количество сохраненных значений: min(k, число учтенных значений).
+     *
+     * @return количество значений
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,133 @@
+package ru.nsu.masolygin;
+
+/**
+ * Сортировка блоками с векторными сортирующими сетями и последующим слиянием.
+ *
+ * <p>Если при запуске JVM подключен модуль {@code jdk.incubator.vector}
+ * ({@code --add-modules jdk.incubator.vector}) и процессор дает хотя бы четыре
+ * int-линии, блоки из 16 векторов сортируются сетью из {@link SortingNetworks}
+ * по столбцам: каждое сравнение-обмен — это lanewise min и max над целыми
+ * регистрами. Затем столбцы транспонируются в серии по 16 элементов. Без модуля
+ * те же серии сортируются скалярными сетями. В обоих случаях серии сливаются
+ * попарно снизу вверх с буфером длины сортируемого отрезка; слияние выбирает
+ * элемент без ветвлений.
+ *
+ * <p>Векторная реализация лежит в отдельном наборе исходников {@code vector} и
+ * загружается через отражение, поэтому основной код собирается и работает без модуля.
+ */
+public class VectorSort {
+    private static final String VECTOR_SORTER = "ru.nsu.masolygin.VectorBlockSorter";
+
+    private static final BlockSorter SORTER = loadSorter();
+
+    /**
+     * Сортирует массив целых чисел.
+     *
+     * @param arr Массив для сортировки
+     */
+    public static void sort(int[] arr) {
+        sortRange(arr, 0, arr.length, SORTER);
+    }
+
+    /**
+     * Сортирует отрезок массива [from, to).
+     *
+     * @param arr  Массив для сортировки
+     * @param from Индекс первого элемента отрезка (включительно)
+     * @param to   Индекс конца отрезка (не включительно)
+     * @throws IllegalArgumentException       если from &gt; to
+     * @throws ArrayIndexOutOfBoundsException если from &lt; 0 или to &gt; arr.length
+     */
+    public static void sort(int[] arr, int from, int to) {
+        Heapsort.rangeCheck(arr.length, from, to);
+        sortRange(arr, from, to, SORTER);
+    }
+
+    /**
+     * Проверяет, используется ли векторный путь.
+     *
+     * @return true если блоки сортируются через Vector API
+     */
+    public static boolean isVectorized() {
+        return !(SORTER instanceof ScalarBlockSorter);
+    }
+
+    static void sortRange(int[] arr, int from, int to, BlockSorter sorter) {
+        int n = to - from;
+        if (n <= SortingNetworks.MAX_SIZE) {
+            SortingNetworks.sortRange(arr, from, to);
+            return;
+        }
+        sorter.sortRuns(arr, from, to);
+
+        int[] src = arr;
+        int srcBase = from;
+        int[] dst = new int[n];
+        int dstBase = 0;
+        for (long run = sorter.runLength(); run < n; run <<= 1) {
+            for (long lo = 0; lo < n; lo += run << 1) {
+                merge(src, srcBase, dst, dstBase, (int) lo, (int) Math.min(lo + run, n),
+                        (int) Math.min(lo + (run << 1), n));
+            }
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+            int tmpBase = srcBase;
+            srcBase = dstBase;
+            dstBase = tmpBase;
+        }
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, from, n);
+        }
+    }
+
+    /**
+     * Сливает соседние отсортированные отрезки [lo, mid) и [mid, hi) массива src
+     * в [lo, hi) массива dst. Индексы отсчитываются от srcBase и dstBase соответственно.
+     */
+    private static void merge(int[] src, int srcBase, int[] dst, int dstBase,
+            int lo, int mid, int hi) {
+        int i = srcBase + lo;
+        int j = srcBase + mid;
+        int leftEnd = j;
+        int rightEnd = srcBase + hi;
+        int k = dstBase + lo;
+        while (i < leftEnd && j < rightEnd) {
+            int a = src[i];
+            int b = src[j];
+            int takeRight = b < a ? 1 : 0;
+            dst[k++] = Math.min(a, b);
+            i += 1 - takeRight;
+            j += takeRight;
+        }
+        System.arraycopy(src, i, dst, k, leftEnd - i);
+        System.arraycopy(src, j, dst, k + leftEnd - i, rightEnd - j);
+    }
+
+    private static BlockSorter loadSorter() {
+        try {
+            return (BlockSorter) Class.forName(VECTOR_SORTER).getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarBlockSorter();
+        }
+    }
+
+    /**
+     * Скалярная первая фаза: серии длины {@value SortingNetworks#MAX_SIZE}.
+     */
+    static final class ScalarBlockSorter implements BlockSorter {
+        @Override
+        public void sortRuns(int[] arr, int from, int to) {
+            for (long lo = from; lo < to; lo += SortingNetworks.MAX_SIZE) {
+                SortingNetworks.sortRange(arr, (int) lo,
+                        (int) Math.min(lo + SortingNetworks.MAX_SIZE, to));
+            }
+        }
+
+        @Override
+        public int runLength() {
+            return SortingNetworks.MAX_SIZE;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveSortTest {
+
+    private static int[] randomArray(int size, int bound, long seed) {
+        Random random = new Random(seed);
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = bound > 0 ? random.nextInt(bound) : random.nextInt();
+        }
+        return arr;
+    }
+
+    private static AdaptiveSortStats assertSorts(int[] arr) {
+        int[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        AdaptiveSortStats stats = AdaptiveSort.sort(arr);
+        assertArrayEquals(copy, arr);
+        assertEquals(arr.length, stats.size());
+        return stats;
+    }
+
+    @Test
+    void emptyArrayTest() {
+        assertEquals(SortEngine.INSERTION, assertSorts(new int[]{}).engine());
+    }
+
+    @Test
+    void shortArrayTest() {
+        AdaptiveSortStats stats = assertSorts(new int[]{5, -1, 3, 3, Integer.MIN_VALUE});
+        assertEquals(SortEngine.NETWORK, stats.engine());
+        assertEquals(Integer.MIN_VALUE, stats.min());
+        assertEquals(5, stats.max());
+        assertEquals(2, stats.descents());
+    }
+
+    @Test
+    void shortSortedArrayTest() {
+        assertEquals(SortEngine.INSERTION, assertSorts(new int[]{1, 2, 2, 7}).engine());
+        assertEquals(SortEngine.INSERTION, assertSorts(randomArray(30, 0, 7)).engine());
+    }
+
+    @Test
+    void sortedArrayTest() {
+        int[] arr = randomArray(100_000, 0, 1);
+        Arrays.sort(arr);
+        AdaptiveSortStats stats = assertSorts(arr);
+        assertEquals(SortEngine.INSERTION, stats.engine());
+        assertEquals(0, stats.descents());
+    }
+
+    @Test
+    void nearlySortedArrayTest() {
+        int[] arr = randomArray(100_000, 0, 2);
+        Arrays.sort(arr);
+        Random random = new Random(2);
+        for (int i = 0; i < 100; i++) {
+            int j = random.nextInt(arr.length - 1);
+            Heapsort.swap(arr, j, j + 1);
+        }
+        assertEquals(SortEngine.INSERTION, assertSorts(arr).engine());
+    }
+
+    @Test
+    void fewDescentsManyInversionsTest() {
+        int[] arr = new int[100_000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = (i + arr.length / 2) % arr.length * 1000;
+        }
+        AdaptiveSortStats stats = assertSorts(arr);
+        assertEquals(1, stats.descents());
+        assertEquals(SortEngine.RADIX, stats.engine());
+    }
+
+    @Test
+    void smallRangeTest() {
+        assertEquals(SortEngine.COUNTING, assertSorts(randomArray(100_000, 1000, 3)).engine());
+
+        int[] arr = randomArray(10_000, 1000, 4);
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] -= 500;
+        }
+        assertEquals(SortEngine.COUNTING, assertSorts(arr).engine());
+    }
+
+    @Test
+    void randomIdsTest() {
+        int[] arr = randomArray(100_000, 0, 5);
+        arr[0] = Integer.MIN_VALUE;
+        arr[1] = Integer.MAX_VALUE;
+        assertEquals(SortEngine.RADIX, assertSorts(arr).engine());
+    }
+
+    @Test
+    void mediumRandomTest() {
+        assertEquals(SortEngine.HEAP, assertSorts(randomArray(50, 0, 6)).engine());
+    }
+
+    @Test
+    void scratchBudgetTest() {
+        int[] arr = randomArray(100_000, 0, 8);
+        int[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        AdaptiveSortStats stats = AdaptiveSort.sort(arr, (long) Integer.BYTES * arr.length - 1);
+        assertArrayEquals(copy, arr);
+        assertEquals(SortEngine.HEAP, stats.engine());
+
+        arr = randomArray(100_000, 0, 8);
+        stats = AdaptiveSort.sort(arr, (long) Integer.BYTES * arr.length);
+        assertArrayEquals(copy, arr);
+        assertEquals(SortEngine.RADIX, stats.engine());
+    }
+}
@@ -0,0 +1,175 @@
+package ru.nsu.masolygin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BufferHeapsortTest {
+
+    @TempDir
+    Path dir;
+
+    private static int[] randomInts(int size, long seed) {
+        Random random = new Random(seed);
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = random.nextInt();
+        }
+        return arr;
+    }
+
+    private static int[] sorted(int[] arr) {
+        int[] copy = arr.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Test
+    void heapIntBufferTest() {
+        int[] values = randomInts(1000, 0);
+        IntBuffer buffer = IntBuffer.wrap(values.clone());
+
+        BufferHeapsort.sort(buffer);
+        assertArrayEquals(sorted(values), buffer.array());
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void intBufferRegionTest() {
+        IntBuffer buffer = IntBuffer.wrap(new int[]{9, 5, 3, 7, 1, 0});
+        buffer.position(1).limit(5);
+
+        BufferHeapsort.sort(buffer);
+        assertArrayEquals(new int[]{9, 1, 3, 5, 7, 0}, buffer.array());
+        assertEquals(1, buffer.position());
+        assertEquals(5, buffer.limit());
+    }
+
+    @Test
+    void longBufferTest() {
+        Random random = new Random(1);
+        long[] values = new long[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+        LongBuffer buffer = LongBuffer.wrap(values.clone());
+
+        BufferHeapsort.sort(buffer);
+        Arrays.sort(values);
+        assertArrayEquals(values, buffer.array());
+    }
+
+    @Test
+    void directByteBufferBothOrdersTest() {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            int[] values = randomInts(1000, 2);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(values.length * Integer.BYTES);
+            buffer.duplicate().order(order).asIntBuffer().put(values);
+
+            BufferHeapsort.sortInts(buffer, order);
+            int[] actual = new int[values.length];
+            buffer.duplicate().order(order).asIntBuffer().get(actual);
+            assertArrayEquals(sorted(values), actual);
+        }
+    }
+
+    @Test
+    void byteBufferLongsTest() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4 * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(3).putLong(-1).putLong(Long.MAX_VALUE).putLong(0).flip();
+
+        BufferHeapsort.sortLongs(buffer, ByteOrder.LITTLE_ENDIAN);
+        assertEquals(-1, buffer.getLong(0));
+        assertEquals(0, buffer.getLong(8));
+        assertEquals(3, buffer.getLong(16));
+        assertEquals(Long.MAX_VALUE, buffer.getLong(24));
+    }
+
+    @Test
+    void invalidBuffersTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BufferHeapsort.sortInts(ByteBuffer.allocate(6), ByteOrder.BIG_ENDIAN));
+        assertThrows(ReadOnlyBufferException.class,
+                () -> BufferHeapsort.sort(IntBuffer.wrap(new int[]{2, 1}).asReadOnlyBuffer()));
+        assertThrows(ReadOnlyBufferException.class,
+                () -> BufferHeapsort.sortLongs(ByteBuffer.allocate(8).asReadOnlyBuffer(),
+                        ByteOrder.BIG_ENDIAN));
+    }
+
+    private int[] sortFile(int[] values, ByteOrder order, int pageShift) throws IOException {
+        Path file = dir.resolve("data.bin");
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Integer.BYTES).order(order);
+        bytes.asIntBuffer().put(values);
+        Files.write(file, bytes.array());
+
+        BufferHeapsort.sortFile(file, order, pageShift);
+        int[] actual = new int[values.length];
+        ByteBuffer.wrap(Files.readAllBytes(file)).order(order).asIntBuffer().get(actual);
+        return actual;
+    }
+
+    @Test
+    void mappedFileTest() throws IOException {
+        int[] values = randomInts(10000, 3);
+        assertArrayEquals(sorted(values),
+                sortFile(values, ByteOrder.BIG_ENDIAN, BufferHeapsort.PAGE_SHIFT));
+    }
+
+    @Test
+    void mappedFileManyPagesTest() throws IOException {
+        int[] values = randomInts(10001, 4);
+        assertArrayEquals(sorted(values), sortFile(values, ByteOrder.LITTLE_ENDIAN, 6));
+    }
+
+    @Test
+    void siftPastTwoToThirtyTest() throws IOException {
+        int n = (1 << 30) + 2;
+        int pageShift = BufferHeapsort.PAGE_SHIFT;
+        long size = (long) n * Integer.BYTES;
+        long pageBytes = (long) Integer.BYTES << pageShift;
+        Path file = dir.resolve("sparse.bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES), size - Integer.BYTES);
+            IntBuffer[] pages = new IntBuffer[(int) ((size + pageBytes - 1) / pageBytes)];
+            for (int i = 0; i < pages.length; i++) {
+                long offset = i * pageBytes;
+                pages[i] = channel.map(FileChannel.MapMode.READ_WRITE, offset,
+                        Math.min(pageBytes, size - offset)).asIntBuffer();
+            }
+            BufferHeapsort.PagedInts arr = new BufferHeapsort.PagedInts(pages, pageShift);
+            int node = n / 2 - 1;
+            arr.set(node, 1);
+            arr.set(2 * node + 1, 5);
+
+            BufferHeapsort.siftDown(arr, n, node);
+            assertEquals(5, arr.get(node));
+            assertEquals(1, arr.get(2 * node + 1));
+        }
+    }
+
+    @Test
+    void emptyAndTruncatedFileTest() throws IOException {
+        assertArrayEquals(new int[]{}, sortFile(new int[]{}, ByteOrder.BIG_ENDIAN, 6));
+
+        Path file = dir.resolve("bad.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> BufferHeapsort.sortFile(file, ByteOrder.BIG_ENDIAN));
+    }
+}
@@ -0,0 +1,108 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DaryHeapsortTest {
+
+    private static final int[] ARITIES = {2, 4, 8};
+
+    @Test
+    void smallArraysTest() {
+        Random random = new Random(0);
+        for (int arity : ARITIES) {
+            for (int n = 0; n < 40; n++) {
+                int[] arr = new int[n];
+                for (int i = 0; i < n; i++) {
+                    arr[i] = random.nextInt(10) - 5;
+                }
+                int[] copy = arr.clone();
+                Arrays.sort(copy);
+
+                DaryHeapsort.sort(arr, arity);
+                assertArrayEquals(copy, arr);
+            }
+        }
+    }
+
+    @Test
+    void largeRandomArrayTest() {
+        for (int arity : ARITIES) {
+            Random random = new Random(arity);
+            int[] arr = new int[100000];
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = random.nextInt();
+            }
+            int[] copy = arr.clone();
+            Arrays.sort(copy);
+
+            DaryHeapsort.sort(arr, arity);
+            assertArrayEquals(copy, arr);
+        }
+    }
+
+    @Test
+    void extremeValuesTest() {
+        for (int arity : ARITIES) {
+            int[] arr = {Integer.MAX_VALUE, 0, Integer.MIN_VALUE, 42, Integer.MIN_VALUE};
+            DaryHeapsort.sort(arr, arity);
+            assertArrayEquals(new int[]{Integer.MIN_VALUE, Integer.MIN_VALUE, 0, 42,
+                Integer.MAX_VALUE}, arr);
+        }
+    }
+
+    @Test
+    void siftDownTest() {
+        int[] arr = {1, 5, 9, 7, 3};
+        DaryHeapsort.siftDown(arr, 4, 0, arr.length, 0);
+        assertArrayEquals(new int[]{9, 5, 1, 7, 3}, arr);
+    }
+
+    @Test
+    void alignedChildGroupsTest() {
+        for (int arity : ARITIES) {
+            int base = arity - 1;
+            int[] arr = new int[base + 1 + arity];
+            Arrays.fill(arr, -1);
+            arr[base] = 0;
+            for (int k = 0; k < arity; k++) {
+                arr[base + 1 + k] = k == arity / 2 ? 100 : k + 1;
+            }
+            DaryHeapsort.siftDown(arr, arity, base, arity + 1, 0);
+            assertEquals(100, arr[base]);
+            assertEquals(0, arr[arity + arity / 2]);
+            assertEquals(0, (base + 1) % arity);
+        }
+    }
+
+    @Test
+    void prefixMergeSizesTest() {
+        Random random = new Random(1);
+        for (int arity : ARITIES) {
+            for (int n = 0; n <= 2 * arity; n++) {
+                for (int round = 0; round < 20; round++) {
+                    int[] arr = new int[n];
+                    for (int i = 0; i < n; i++) {
+                        arr[i] = random.nextInt(5);
+                    }
+                    int[] copy = arr.clone();
+                    Arrays.sort(copy);
+
+                    DaryHeapsort.sort(arr, arity);
+                    assertArrayEquals(copy, arr);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unsupportedArityTest() {
+        assertThrows(IllegalArgumentException.class, () -> DaryHeapsort.sort(new int[]{1}, 3));
+        assertThrows(IllegalArgumentException.class, () -> DaryHeapsort.sort(new int[]{1}, 1));
+    }
+}
@@ -0,0 +1,132 @@
+package ru.nsu.masolygin;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExternalSorterTest {
+
+    @TempDir
+    Path dir;
+
+    private static void writeInts(Path file, int[] values) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            for (int value : values) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    private static int[] readInts(Path file) throws IOException {
+        int[] values = new int[(int) (Files.size(file) / Integer.BYTES)];
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = in.readInt();
+            }
+        }
+        return values;
+    }
+
+    private static int[] randomArray(int size, long seed) {
+        Random random = new Random(seed);
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = random.nextInt();
+        }
+        return arr;
+    }
+
+    private long tempFileCount(Path tempDir) throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    private void assertSorts(int[] values, int bufferSize) throws IOException {
+        Path input = dir.resolve("input.bin");
+        Path output = dir.resolve("output.bin");
+        Path tempDir = Files.createDirectories(dir.resolve("tmp"));
+        writeInts(input, values);
+
+        new ExternalSorter(bufferSize, tempDir).sort(input, output);
+
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, readInts(output));
+        assertArrayEquals(values, readInts(input));
+        assertEquals(0, tempFileCount(tempDir));
+    }
+
+    @Test
+    void singleRunTest() throws IOException {
+        assertSorts(randomArray(1000, 0), ExternalSorter.DEFAULT_BUFFER_SIZE);
+    }
+
+    @Test
+    void singlePassMergeTest() throws IOException {
+        assertSorts(randomArray(100000, 1), 64 * 1024);
+    }
+
+    @Test
+    void multiPassMergeTest() throws IOException {
+        assertSorts(randomArray(1001, 2), ExternalSorter.MIN_BUFFER_SIZE);
+    }
+
+    @Test
+    void emptyFileTest() throws IOException {
+        assertSorts(new int[]{}, 1024);
+    }
+
+    @Test
+    void extremeValuesTest() throws IOException {
+        assertSorts(new int[]{Integer.MAX_VALUE, -1, 0, Integer.MIN_VALUE, 1, -1}, 16);
+    }
+
+    @Test
+    void inPlaceTest() throws IOException {
+        Path file = dir.resolve("data.bin");
+        int[] values = randomArray(5000, 3);
+        writeInts(file, values);
+
+        new ExternalSorter(1024, dir).sort(file, file);
+
+        Arrays.sort(values);
+        assertArrayEquals(values, readInts(file));
+    }
+
+    @Test
+    void truncatedFileTest() throws IOException {
+        Path input = dir.resolve("input.bin");
+        Files.write(input, new byte[]{1, 2, 3, 4, 5});
+        assertThrows(IOException.class,
+                () -> new ExternalSorter(1024, dir).sort(input, dir.resolve("out.bin")));
+    }
+
+    @Test
+    void cleanupOnFailureTest() throws IOException {
+        Path input = dir.resolve("input.bin");
+        Path tempDir = Files.createDirectories(dir.resolve("tmp"));
+        writeInts(input, randomArray(1000, 4));
+
+        Path output = dir.resolve("missing").resolve("out.bin");
+        assertThrows(IOException.class,
+                () -> new ExternalSorter(256, tempDir).sort(input, output));
+        assertEquals(0, tempFileCount(tempDir));
+    }
+
+    @Test
+    void invalidBufferSizeTest() {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalSorter(15));
+    }
+}
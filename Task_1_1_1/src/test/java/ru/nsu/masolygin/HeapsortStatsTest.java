@@ -0,0 +1,140 @@
+package ru.nsu.masolygin;
+
+import com.sun.management.ThreadMXBean;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeapsortStatsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static int[] randomArray(int size, long seed) {
+        return new Random(seed).ints(size).toArray();
+    }
+
+    @Test
+    void countersTest() {
+        int n = 10_000;
+        int[] arr = randomArray(n, 0);
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+
+        HeapsortStats stats = new HeapsortStats();
+        Heapsort.heapsort(arr, stats);
+        assertArrayEquals(expected, arr);
+        assertEquals(1, stats.sorts());
+        assertEquals(n, stats.elements());
+        assertEquals(n - 1, stats.swaps());
+
+        double log = Math.log(n) / Math.log(2);
+        assertTrue(stats.comparisons() > n * (log - 2));
+        assertTrue(stats.comparisons() < 2 * n * log);
+        assertTrue(stats.moves() > 0);
+        assertEquals(31 - Integer.numberOfLeadingZeros(n), stats.maxSiftDepth());
+    }
+
+    @Test
+    void sameOrderAsDefaultPathTest() {
+        int[] arr = randomArray(1000, 1);
+        int[] plain = arr.clone();
+        Heapsort.heapsort(plain, 100, 900);
+        Heapsort.heapsort(arr, 100, 900, new HeapsortStats());
+        assertArrayEquals(plain, arr);
+    }
+
+    @Test
+    void accumulateAndResetTest() {
+        HeapsortStats stats = new HeapsortStats();
+        Heapsort.heapsort(randomArray(100, 2), stats);
+        Heapsort.heapsort(new int[]{}, stats);
+        Heapsort.heapsort(new int[]{1}, stats);
+        assertEquals(3, stats.sorts());
+        assertEquals(101, stats.elements());
+        assertEquals(99, stats.swaps());
+
+        stats.reset();
+        assertEquals(0, stats.sorts());
+        assertEquals(0, stats.comparisons());
+        assertEquals(0, stats.maxSiftDepth());
+    }
+
+    @Test
+    void invalidRangeTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Heapsort.heapsort(new int[4], 3, 1, new HeapsortStats()));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> Heapsort.heapsort(new int[4], 0, 5, new HeapsortStats()));
+    }
+
+    @Test
+    void currentIsPerThreadTest() throws InterruptedException {
+        HeapsortStats mine = HeapsortStats.current();
+        assertSame(mine, HeapsortStats.current());
+        HeapsortStats[] other = new HeapsortStats[1];
+        Thread thread = new Thread(() -> other[0] = HeapsortStats.current());
+        thread.start();
+        thread.join();
+        assertFalse(mine == other[0]);
+    }
+
+    @Test
+    void defaultPathDoesNotAllocateTest() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int[] arr = randomArray(100, 5);
+        int[] work = new int[arr.length];
+        for (int i = 0; i < 1000; i++) {
+            System.arraycopy(arr, 0, work, 0, arr.length);
+            Heapsort.heapsort(work);
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 10_000; i++) {
+            System.arraycopy(arr, 0, work, 0, arr.length);
+            Heapsort.heapsort(work);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(allocated < 10_000, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void jfrEventTest() throws IOException {
+        Path file = tempDir.resolve("heapsort.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("ru.nsu.masolygin.Heapsort").withoutThreshold();
+            recording.start();
+            Heapsort.heapsort(randomArray(1234, 3));
+            Heapsort.heapsort(randomArray(10, 4), new HeapsortStats());
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("ru.nsu.masolygin.Heapsort"))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .collect(Collectors.toList());
+        assertEquals(2, events.size());
+        assertEquals(1234, events.get(0).getInt("size"));
+        assertFalse(events.get(0).getBoolean("instrumented"));
+        assertEquals(10, events.get(1).getInt("size"));
+        assertTrue(events.get(1).getBoolean("instrumented"));
+    }
+}
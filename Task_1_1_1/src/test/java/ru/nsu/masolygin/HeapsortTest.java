@@ -1,11 +1,17 @@
 package ru.nsu.masolygin;
 
+import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class HeapsortTest {
 
@@ -105,6 +111,391 @@ class HeapsortTest {
         assertArrayEquals(copy, arr);
     }
 
+    @Test
+    void rangeSortTest() {
+        int[] arr = {9, 8, 7, 6, 5, 4, 3, 2, 1};
+        Heapsort.heapsort(arr, 2, 7);
+        assertArrayEquals(new int[]{9, 8, 3, 4, 5, 6, 7, 2, 1}, arr);
+    }
+
+    @Test
+    void rangeSortRandomTest() {
+        Random random = new Random(0);
+        int[] arr = new int[1000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = random.nextInt();
+        }
+        int[] copy = arr.clone();
+        Arrays.sort(copy, 123, 877);
+
+        Heapsort.heapsort(arr, 123, 877);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void rangeSortEmptyRangeTest() {
+        int[] arr = {3, 2, 1};
+        Heapsort.heapsort(arr, 1, 1);
+        Heapsort.heapsort(arr, 3, 3);
+        assertArrayEquals(new int[]{3, 2, 1}, arr);
+    }
+
+    @Test
+    void rangeSortBoundsTest() {
+        int[] arr = {3, 2, 1};
+        assertThrows(IllegalArgumentException.class, () -> Heapsort.heapsort(arr, 2, 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> Heapsort.heapsort(arr, -1, 2));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> Heapsort.heapsort(arr, 0, 4));
+    }
+
+    @Test
+    void rangeShiftDownTest() {
+        int[] arr = {0, 3, 4, 5, 0};
+        Heapsort.shiftDown(arr, 1, 4, 0);
+        assertArrayEquals(new int[]{0, 5, 4, 3, 0}, arr);
+    }
+
+    @Test
+    void rangeShiftDownBoundsTest() {
+        int[] arr = {0, 3, 4, 5, 0};
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> Heapsort.shiftDown(arr, 1, 4, 3));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> Heapsort.shiftDown(arr, 1, 6, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> Heapsort.shiftDown(arr, 4, 1, 0));
+    }
+
+    @Test
+    void rangeSwapTest() {
+        int[] arr = {1, 2, 3, 4};
+        Heapsort.swap(arr, 1, 4, 0, 2);
+        assertArrayEquals(new int[]{1, 4, 3, 2}, arr);
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> Heapsort.swap(arr, 1, 4, 0, 3));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> Heapsort.swap(arr, 1, 4, -1, 0));
+    }
+
+    @Test
+    void topKTest() {
+        int[] arr = {5, -1, 9, 3, 9, 0, 7};
+        assertArrayEquals(new int[]{7, 9, 9}, Heapsort.topK(arr, 3));
+        assertArrayEquals(new int[]{5, -1, 9, 3, 9, 0, 7}, arr);
+    }
+
+    @Test
+    void bottomKTest() {
+        int[] arr = {5, -1, 9, 3, 9, 0, 7};
+        assertArrayEquals(new int[]{-1, 0, 3}, Heapsort.bottomK(arr, 3));
+        assertArrayEquals(new int[]{5, -1, 9, 3, 9, 0, 7}, arr);
+    }
+
+    @Test
+    void topKExtremeValuesTest() {
+        int[] arr = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, Integer.MIN_VALUE};
+        assertArrayEquals(new int[]{0, Integer.MAX_VALUE}, Heapsort.topK(arr, 2));
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, Integer.MIN_VALUE, -1, 0,
+            Integer.MAX_VALUE}, Heapsort.topK(arr, 5));
+    }
+
+    @Test
+    void topKEdgeSizesTest() {
+        int[] arr = {3, 1, 2};
+        assertArrayEquals(new int[]{}, Heapsort.topK(arr, 0));
+        assertArrayEquals(new int[]{}, Heapsort.bottomK(arr, 0));
+        assertArrayEquals(new int[]{1, 2, 3}, Heapsort.bottomK(arr, 3));
+        assertThrows(IllegalArgumentException.class, () -> Heapsort.topK(arr, 4));
+        assertThrows(IllegalArgumentException.class, () -> Heapsort.bottomK(arr, -1));
+        assertThrows(IllegalArgumentException.class, () -> Heapsort.topKInPlace(arr, 4));
+    }
+
+    @Test
+    void topKRandomTest() {
+        Random random = new Random(0);
+        int[] arr = new int[10000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = random.nextInt(1000);
+        }
+        int[] sorted = arr.clone();
+        Arrays.sort(sorted);
+        for (int k : new int[]{1, 10, 500, 10000}) {
+            assertArrayEquals(Arrays.copyOfRange(sorted, sorted.length - k, sorted.length),
+                    Heapsort.topK(arr, k));
+            assertArrayEquals(Arrays.copyOf(sorted, k), Heapsort.bottomK(arr, k));
+        }
+    }
+
+    @Test
+    void topKInPlaceTest() {
+        Random random = new Random(1);
+        int[] arr = new int[10000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = random.nextInt();
+        }
+        int[] sorted = arr.clone();
+        Arrays.sort(sorted);
+
+        Heapsort.topKInPlace(arr, 100);
+        assertArrayEquals(Arrays.copyOfRange(sorted, sorted.length - 100, sorted.length),
+                Arrays.copyOf(arr, 100));
+        Arrays.sort(arr);
+        assertArrayEquals(sorted, arr);
+    }
+
+    @Test
+    void bottomKInPlaceTest() {
+        Random random = new Random(2);
+        int[] arr = new int[10000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = random.nextInt();
+        }
+        int[] sorted = arr.clone();
+        Arrays.sort(sorted);
+
+        Heapsort.bottomKInPlace(arr, 100);
+        assertArrayEquals(Arrays.copyOf(sorted, 100), Arrays.copyOf(arr, 100));
+        Arrays.sort(arr);
+        assertArrayEquals(sorted, arr);
+    }
+
+    @Test
+    void coSortLongPayloadTest() {
+        Random random = new Random(0);
+        int[] keys = new int[1000];
+        long[] payload = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt();
+            payload[i] = (long) keys[i] * 3;
+        }
+        int[] sorted = keys.clone();
+        Arrays.sort(sorted);
+
+        Heapsort.heapsort(keys, payload);
+        assertArrayEquals(sorted, keys);
+        for (int i = 0; i < keys.length; i++) {
+            assertTrue(payload[i] == (long) keys[i] * 3);
+        }
+    }
+
+    @Test
+    void coSortObjectPayloadTest() {
+        int[] keys = {3, 1, 2};
+        String[] payload = {"c", "a", "b"};
+        Heapsort.heapsort(keys, payload);
+        assertArrayEquals(new int[]{1, 2, 3}, keys);
+        assertArrayEquals(new String[]{"a", "b", "c"}, payload);
+    }
+
+    @Test
+    void coSortManyPayloadsTest() {
+        Random random = new Random(1);
+        int[] keys = new int[1000];
+        int[] ids = new int[keys.length];
+        double[] halves = new double[keys.length];
+        String[] names = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(50);
+            ids[i] = keys[i] + 1;
+            halves[i] = keys[i] / 2.0;
+            names[i] = Integer.toString(keys[i]);
+        }
+
+        Heapsort.heapsortWithPayloads(keys, ids, halves, names);
+        for (int i = 0; i < keys.length; i++) {
+            assertTrue(i == 0 || keys[i - 1] <= keys[i]);
+            assertTrue(ids[i] == keys[i] + 1);
+            assertTrue(halves[i] == keys[i] / 2.0);
+            assertTrue(names[i].equals(Integer.toString(keys[i])));
+        }
+    }
+
+    @Test
+    void coSortSingleObjectPayloadTest() {
+        int[] keys = {3, 1, 2};
+        String[] names = {"c", "a", "b"};
+        Heapsort.heapsortWithPayloads(keys, names);
+        assertArrayEquals(new int[]{1, 2, 3}, keys);
+        assertArrayEquals(new String[]{"a", "b", "c"}, names);
+
+        long[] ids = {30, 10, 20};
+        String[] labels = {"c", "a", "b"};
+        Heapsort.heapsortWithPayloads(new int[]{3, 1, 2}, ids, labels);
+        assertArrayEquals(new long[]{10, 20, 30}, ids);
+        assertArrayEquals(new String[]{"a", "b", "c"}, labels);
+    }
+
+    @Test
+    void coSortLengthMismatchTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Heapsort.heapsort(new int[2], new long[3]));
+        assertThrows(IllegalArgumentException.class,
+                () -> Heapsort.heapsort(new int[2], new String[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> Heapsort.heapsortWithPayloads(new int[2], new int[2], new byte[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> Heapsort.heapsortWithPayloads(new int[2], "not an array"));
+    }
+
+    @Test
+    void sortByTest() {
+        String[] words = {"ccc", "a", "dddd", "", "bb"};
+        Heapsort.sortBy(words, String::length);
+        assertArrayEquals(new String[]{"", "a", "bb", "ccc", "dddd"}, words);
+
+        Integer[] numbers = {3, -1, 2};
+        Heapsort.sortBy(numbers, x -> -x);
+        assertArrayEquals(new Integer[]{3, 2, -1}, numbers);
+    }
+
+    @Test
+    void sortByExtractsKeysOnceTest() {
+        Random random = new Random(2);
+        Integer[] items = new Integer[1000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = random.nextInt(100);
+        }
+        int[] calls = new int[1];
+        Heapsort.sortBy(items, x -> {
+            calls[0]++;
+            return x;
+        });
+        assertEquals(items.length, calls[0]);
+        for (int i = 1; i < items.length; i++) {
+            assertTrue(items[i - 1] <= items[i]);
+        }
+    }
+
+    @Test
+    void sortByLongTest() {
+        Random random = new Random(3);
+        Long[] items = new Long[1000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = random.nextLong();
+        }
+        items[0] = Long.MIN_VALUE;
+        items[1] = Long.MAX_VALUE;
+        Long[] expected = items.clone();
+        Arrays.sort(expected);
+
+        Heapsort.sortByLong(items, x -> x);
+        assertArrayEquals(expected, items);
+    }
+
+    @Test
+    void longArrayTest() {
+        Random random = new Random(0);
+        long[] arr = new long[1000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = random.nextLong();
+        }
+        arr[0] = Long.MIN_VALUE;
+        arr[1] = Long.MAX_VALUE;
+        long[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Heapsort.heapsort(arr);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void shortArrayTest() {
+        Random random = new Random(0);
+        short[] arr = new short[1000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = (short) random.nextInt();
+        }
+        short[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Heapsort.heapsort(arr);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void charArrayTest() {
+        Random random = new Random(0);
+        char[] arr = new char[1000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = (char) random.nextInt();
+        }
+        char[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Heapsort.heapsort(arr);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void byteArrayTest() {
+        Random random = new Random(0);
+        byte[] arr = new byte[1000];
+        random.nextBytes(arr);
+        byte[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Heapsort.heapsort(arr);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void doubleArrayTest() {
+        Random random = new Random(0);
+        double[] arr = new double[1000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = random.nextGaussian();
+        }
+        double[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Heapsort.heapsort(arr);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void doubleSpecialValuesTest() {
+        double[] arr = {0.0, Double.NaN, -0.0, 1.5, Double.NEGATIVE_INFINITY, 0.0, -0.0,
+            Double.NaN, -1.5, Double.POSITIVE_INFINITY, -0.0};
+        double[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Heapsort.heapsort(arr);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void doubleOnlyNansTest() {
+        double[] arr = {Double.NaN, Double.NaN};
+        Heapsort.heapsort(arr);
+        assertArrayEquals(new double[]{Double.NaN, Double.NaN}, arr);
+    }
+
+    @Test
+    void floatSpecialValuesTest() {
+        Random random = new Random(0);
+        float[] arr = new float[1000];
+        for (int i = 0; i < arr.length; i++) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    arr[i] = Float.NaN;
+                    break;
+                case 1:
+                    arr[i] = -0.0f;
+                    break;
+                case 2:
+                    arr[i] = 0.0f;
+                    break;
+                default:
+                    arr[i] = random.nextFloat() - 0.5f;
+            }
+        }
+        float[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Heapsort.heapsort(arr);
+        assertArrayEquals(copy, arr);
+    }
+
     @Test
     void shiftDownTestNoChange() {
         int[] arr = {5, 3, 4};
@@ -133,6 +524,145 @@ class HeapsortTest {
         assertArrayEquals(new int[]{5}, arr);
     }
 
+    @Test
+    void siftDownBottomUpTestSwapRight() {
+        int[] arr = {3, 4, 5};
+        Heapsort.siftDownBottomUp(arr, arr.length, 0);
+        assertArrayEquals(new int[]{5, 4, 3}, arr);
+    }
+
+    @Test
+    void siftDownBottomUpTestStopsAboveLeaf() {
+        int[] arr = {1, 9, 8, 7, 6, 5, 4};
+        Heapsort.siftDownBottomUp(arr, arr.length, 0);
+        assertArrayEquals(new int[]{9, 7, 8, 1, 6, 5, 4}, arr);
+    }
+
+    @Test
+    void siftDownBottomUpMatchesShiftDownTest() {
+        Random random = new Random(0);
+        for (int round = 0; round < 1000; round++) {
+            int n = 1 + random.nextInt(64);
+            int[] arr = new int[n];
+            for (int i = 0; i < n; i++) {
+                arr[i] = random.nextInt(10);
+            }
+            for (int i = n / 2 - 1; i > 0; i--) {
+                Heapsort.shiftDown(arr, n, i);
+            }
+            int[] expected = arr.clone();
+            Heapsort.shiftDown(expected, n, 0);
+
+            Heapsort.siftDownBottomUp(arr, n, 0);
+            assertArrayEquals(expected, arr);
+        }
+    }
+
+    /**
+     * Ядро кучи одного примитивного типа: массив передается как Object.
+     */
+    private interface TypedSift {
+        void sift(Object arr, int n, int i);
+    }
+
+    private static int[] snapshot(Object arr, int shift) {
+        int[] result = new int[Array.getLength(arr)];
+        for (int k = 0; k < result.length; k++) {
+            Object value = Array.get(arr, k);
+            result[k] = value instanceof Character
+                    ? (Character) value - shift
+                    : ((Number) value).intValue();
+        }
+        return result;
+    }
+
+    private static void assertMatchesIntKernel(int[] values, Object typed, int shift,
+            TypedSift kernel) {
+        int[] ints = values.clone();
+        int n = ints.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            Heapsort.siftDownBottomUp(ints, n, i);
+            kernel.sift(typed, n, i);
+            assertArrayEquals(ints, snapshot(typed, shift));
+        }
+        for (int i = n - 1; i > 0; i--) {
+            Heapsort.swap(ints, 0, i);
+            Object top = Array.get(typed, 0);
+            Array.set(typed, 0, Array.get(typed, i));
+            Array.set(typed, i, top);
+            Heapsort.siftDownBottomUp(ints, i, 0);
+            kernel.sift(typed, i, 0);
+            assertArrayEquals(ints, snapshot(typed, shift));
+        }
+    }
+
+    @Test
+    void primitiveKernelsMatchIntKernelTest() {
+        Random random = new Random(0);
+        for (int round = 0; round < 300; round++) {
+            int n = random.nextInt(70);
+            int[] values = new int[n];
+            long[] longs = new long[n];
+            short[] shorts = new short[n];
+            char[] chars = new char[n];
+            byte[] bytes = new byte[n];
+            double[] doubles = new double[n];
+            float[] floats = new float[n];
+            for (int k = 0; k < n; k++) {
+                values[k] = random.nextInt(10) - 5;
+                longs[k] = values[k];
+                shorts[k] = (short) values[k];
+                chars[k] = (char) (values[k] + 5);
+                bytes[k] = (byte) values[k];
+                doubles[k] = values[k];
+                floats[k] = values[k];
+            }
+
+            assertMatchesIntKernel(values, longs, 0,
+                    (arr, size, i) -> Heapsort.siftDownBottomUp((long[]) arr, size, i));
+            assertMatchesIntKernel(values, shorts, 0,
+                    (arr, size, i) -> Heapsort.siftDownBottomUp((short[]) arr, size, i));
+            assertMatchesIntKernel(values, chars, 5,
+                    (arr, size, i) -> Heapsort.siftDownBottomUp((char[]) arr, size, i));
+            assertMatchesIntKernel(values, bytes, 0,
+                    (arr, size, i) -> Heapsort.siftDownBottomUp((byte[]) arr, size, i));
+            assertMatchesIntKernel(values, doubles, 0,
+                    (arr, size, i) -> Heapsort.siftDownBottomUp((double[]) arr, size, i));
+            assertMatchesIntKernel(values, floats, 0,
+                    (arr, size, i) -> Heapsort.siftDownBottomUp((float[]) arr, size, i));
+            InstrumentedHeapsort instrumented = new InstrumentedHeapsort();
+            assertMatchesIntKernel(values, values.clone(), 0,
+                    (arr, size, i) -> instrumented.siftDown((int[]) arr, 0, size, i));
+        }
+    }
+
+    @Test
+    void sortedIteratorTest() {
+        int[] arr = {5, -3, 8, 0, 5, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+        PrimitiveIterator.OfInt iterator = Heapsort.sortedIterator(arr);
+        for (int value : expected) {
+            assertEquals(value, iterator.nextInt());
+        }
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+        assertArrayEquals(new int[]{5, -3, 8, 0, 5, Integer.MIN_VALUE, Integer.MAX_VALUE}, arr);
+    }
+
+    @Test
+    void sortedIteratorPrefixTest() {
+        Random random = new Random(0);
+        int[] arr = random.ints(10_000).toArray();
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+        PrimitiveIterator.OfInt iterator = Heapsort.sortedIterator(arr);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected[i], iterator.nextInt());
+        }
+        assertFalse(Heapsort.sortedIterator(new int[]{}).hasNext());
+    }
+
     @Test
     void swapTest() {
         int[] arr = {1, 2};
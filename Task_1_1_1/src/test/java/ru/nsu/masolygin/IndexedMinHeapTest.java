@@ -0,0 +1,142 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedMinHeapTest {
+
+    @Test
+    void insertAndPollTest() {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+        heap.insert(0, 50);
+        heap.insert(3, 10);
+        heap.insert(4, 30);
+        assertEquals(3, heap.size());
+        assertEquals(3, heap.peekId());
+        assertEquals(10, heap.peekKey());
+        assertEquals(3, heap.poll());
+        assertEquals(4, heap.poll());
+        assertEquals(0, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void changeKeyTest() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insert(0, 10);
+        heap.insert(1, 20);
+        heap.insert(2, 30);
+        heap.decreaseKey(2, 5);
+        assertEquals(2, heap.peekId());
+        heap.increaseKey(2, 25);
+        assertEquals(25, heap.keyOf(2));
+        assertEquals(0, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(2, heap.poll());
+    }
+
+    @Test
+    void removeAndContainsTest() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insert(1, 1);
+        heap.insert(2, 2);
+        heap.insert(3, 3);
+        assertTrue(heap.contains(2));
+        heap.remove(1);
+        assertFalse(heap.contains(1));
+        assertEquals(2, heap.poll());
+        heap.insert(1, 0);
+        assertEquals(1, heap.poll());
+        assertEquals(3, heap.poll());
+    }
+
+    @Test
+    void invalidOperationsTest() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        heap.insert(0, 5);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.insert(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> heap.contains(-1));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 6));
+        assertThrows(IllegalArgumentException.class, () -> heap.increaseKey(0, 4));
+        assertThrows(NoSuchElementException.class, () -> heap.remove(1));
+        assertThrows(NoSuchElementException.class, () -> heap.keyOf(1));
+        heap.poll();
+        assertThrows(NoSuchElementException.class, heap::poll);
+        assertThrows(NoSuchElementException.class, heap::peekKey);
+        assertThrows(IllegalArgumentException.class, () -> new IndexedMinHeap(-1));
+    }
+
+    @Test
+    void randomOperationsTest() {
+        Random random = new Random(0);
+        int capacity = 200;
+        IndexedMinHeap heap = new IndexedMinHeap(capacity);
+        long[] expected = new long[capacity];
+        boolean[] present = new boolean[capacity];
+        for (int step = 0; step < 20000; step++) {
+            int id = random.nextInt(capacity);
+            long key = random.nextInt(1000) - 500;
+            if (!present[id]) {
+                heap.insert(id, key);
+                expected[id] = key;
+                present[id] = true;
+            } else if (random.nextInt(4) == 0) {
+                heap.remove(id);
+                present[id] = false;
+            } else if (key < expected[id]) {
+                heap.decreaseKey(id, key);
+                expected[id] = key;
+            } else {
+                heap.increaseKey(id, key);
+                expected[id] = key;
+            }
+            if (random.nextInt(10) == 0 && !heap.isEmpty()) {
+                long min = Long.MAX_VALUE;
+                for (int i = 0; i < capacity; i++) {
+                    if (present[i]) {
+                        min = Math.min(min, expected[i]);
+                    }
+                }
+                assertEquals(min, heap.peekKey());
+                int polled = heap.poll();
+                assertEquals(min, expected[polled]);
+                present[polled] = false;
+            }
+        }
+    }
+
+    @Test
+    void dijkstraTest() {
+        int[][] edges = {{0, 1, 4}, {0, 2, 1}, {2, 1, 2}, {1, 3, 1}, {2, 3, 5}, {3, 4, 3}};
+        int n = 5;
+        long[] distance = new long[n];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        distance[0] = 0;
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        heap.insert(0, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            for (int[] edge : edges) {
+                if (edge[0] != u || distance[u] + edge[2] >= distance[edge[1]]) {
+                    continue;
+                }
+                distance[edge[1]] = distance[u] + edge[2];
+                if (heap.contains(edge[1])) {
+                    heap.decreaseKey(edge[1], distance[edge[1]]);
+                } else {
+                    heap.insert(edge[1], distance[edge[1]]);
+                }
+            }
+        }
+        assertArrayEquals(new long[]{0, 3, 1, 4, 7}, distance);
+    }
+}
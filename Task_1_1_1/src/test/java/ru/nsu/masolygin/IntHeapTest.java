@@ -0,0 +1,107 @@
+package ru.nsu.masolygin;
+
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntHeapTest {
+
+    @Test
+    void minOrderTest() {
+        IntHeap heap = new IntHeap(HeapOrder.MIN);
+        for (int value : new int[]{5, -3, 8, Integer.MIN_VALUE, Integer.MAX_VALUE, 0}) {
+            heap.push(value);
+        }
+        assertEquals(6, heap.size());
+        assertEquals(Integer.MIN_VALUE, heap.peek());
+        assertEquals(Integer.MIN_VALUE, heap.pop());
+        assertEquals(-3, heap.pop());
+        assertEquals(0, heap.pop());
+        assertEquals(5, heap.pop());
+        assertEquals(8, heap.pop());
+        assertEquals(Integer.MAX_VALUE, heap.pop());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void maxOrderTest() {
+        IntHeap heap = new IntHeap(HeapOrder.MAX, 0);
+        for (int value : new int[]{5, -3, 8, Integer.MIN_VALUE, Integer.MAX_VALUE, 0}) {
+            heap.push(value);
+        }
+        assertEquals(Integer.MAX_VALUE, heap.pop());
+        assertEquals(8, heap.pop());
+        assertEquals(5, heap.peek());
+        assertEquals(HeapOrder.MAX, heap.order());
+    }
+
+    @Test
+    void replaceTopTest() {
+        IntHeap heap = IntHeap.heapify(new int[]{4, 1, 7}, HeapOrder.MIN);
+        assertEquals(1, heap.replaceTop(9));
+        assertEquals(4, heap.pop());
+        assertEquals(7, heap.pop());
+        assertEquals(9, heap.pop());
+    }
+
+    @Test
+    void heapifyDoesNotModifySourceTest() {
+        int[] values = {3, 1, 2};
+        IntHeap heap = IntHeap.heapify(values, HeapOrder.MAX);
+        assertEquals(3, heap.size());
+        assertEquals(3, heap.pop());
+        assertEquals(3, values[0]);
+        assertEquals(1, values[1]);
+    }
+
+    @Test
+    void emptyHeapTest() {
+        IntHeap heap = new IntHeap(HeapOrder.MIN);
+        assertThrows(NoSuchElementException.class, heap::peek);
+        assertThrows(NoSuchElementException.class, heap::pop);
+        assertThrows(NoSuchElementException.class, () -> heap.replaceTop(1));
+        assertThrows(IllegalArgumentException.class, () -> new IntHeap(HeapOrder.MIN, -1));
+    }
+
+    @Test
+    void clearTest() {
+        IntHeap heap = IntHeap.heapify(new int[]{1, 2, 3}, HeapOrder.MIN);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        heap.push(5);
+        assertFalse(heap.isEmpty());
+        assertEquals(5, heap.peek());
+    }
+
+    @Test
+    void matchesPriorityQueueTest() {
+        for (HeapOrder order : HeapOrder.values()) {
+            Random random = new Random(0);
+            IntHeap heap = new IntHeap(order);
+            PriorityQueue<Integer> expected = order == HeapOrder.MIN
+                    ? new PriorityQueue<>() : new PriorityQueue<>(Collections.reverseOrder());
+            for (int i = 0; i < 10000; i++) {
+                int operation = random.nextInt(3);
+                if (operation == 0 && !expected.isEmpty()) {
+                    assertEquals((int) expected.poll(), heap.pop());
+                } else if (operation == 1 && !expected.isEmpty()) {
+                    int value = random.nextInt();
+                    assertEquals((int) expected.poll(), heap.replaceTop(value));
+                    expected.add(value);
+                } else {
+                    int value = random.nextInt();
+                    heap.push(value);
+                    expected.add(value);
+                }
+                assertEquals(expected.size(), heap.size());
+            }
+        }
+    }
+}
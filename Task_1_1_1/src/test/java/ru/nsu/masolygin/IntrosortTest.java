@@ -0,0 +1,109 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntrosortTest {
+
+    private static int[] randomArray(int size, int bound, long seed) {
+        Random random = new Random(seed);
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = bound > 0 ? random.nextInt(bound) : random.nextInt();
+        }
+        return arr;
+    }
+
+    private static void assertSorts(int[] arr) {
+        int[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Introsort.sort(arr);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void emptyArrayTest() {
+        assertSorts(new int[]{});
+    }
+
+    @Test
+    void singleElementTest() {
+        assertSorts(new int[]{42});
+    }
+
+    @Test
+    void smallArrayTest() {
+        assertSorts(new int[]{5, -1, 3, 3, 0, Integer.MIN_VALUE, Integer.MAX_VALUE});
+    }
+
+    @Test
+    void randomArrayTest() {
+        assertSorts(randomArray(100000, 0, 0));
+    }
+
+    @Test
+    void fewUniqueTest() {
+        assertSorts(randomArray(100000, 4, 1));
+    }
+
+    @Test
+    void allSameElementsTest() {
+        int[] arr = new int[10000];
+        Arrays.fill(arr, 7);
+        assertSorts(arr);
+    }
+
+    @Test
+    void sortedAndReverseTest() {
+        int[] sorted = new int[10000];
+        int[] reverse = new int[10000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+            reverse[i] = sorted.length - i;
+        }
+        assertSorts(sorted);
+        assertSorts(reverse);
+    }
+
+    @Test
+    void organPipeTest() {
+        int[] arr = new int[10001];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = Math.min(i, arr.length - i);
+        }
+        assertSorts(arr);
+    }
+
+    @Test
+    void heapFallbackTest() {
+        int[] arr = randomArray(1000, 0, 2);
+        int[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Introsort.introsort(arr, 0, arr.length, 0);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void rangeSortTest() {
+        int[] arr = randomArray(1000, 0, 3);
+        int[] copy = arr.clone();
+        Arrays.sort(copy, 100, 900);
+
+        Introsort.sort(arr, 100, 900);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void rangeBoundsTest() {
+        int[] arr = {3, 2, 1};
+        assertThrows(IllegalArgumentException.class, () -> Introsort.sort(arr, 2, 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> Introsort.sort(arr, -1, 2));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> Introsort.sort(arr, 0, 4));
+    }
+}
@@ -0,0 +1,79 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KWayMergeTest {
+
+    private static int[][] randomRuns(int count, int maxLength, long seed) {
+        Random random = new Random(seed);
+        int[][] runs = new int[count][];
+        for (int i = 0; i < count; i++) {
+            runs[i] = new int[random.nextInt(maxLength + 1)];
+            for (int j = 0; j < runs[i].length; j++) {
+                runs[i][j] = random.nextInt(1000) - 500;
+            }
+            Arrays.sort(runs[i]);
+        }
+        return runs;
+    }
+
+    private static int[] concatSorted(int[][] runs) {
+        int[] all = Arrays.stream(runs).flatMapToInt(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+    @Test
+    void mergeTest() {
+        assertArrayEquals(new int[]{-5, 1, 2, 3, 4, 4, 9, 10},
+                KWayMerge.merge(new int[]{1, 4, 9}, new int[]{2, 3, 10}, new int[]{-5, 4}));
+    }
+
+    @Test
+    void edgeCasesTest() {
+        assertArrayEquals(new int[]{}, KWayMerge.merge());
+        assertArrayEquals(new int[]{}, KWayMerge.merge(new int[]{}, new int[]{}));
+        assertArrayEquals(new int[]{1, 2}, KWayMerge.merge(new int[]{1, 2}));
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE},
+                KWayMerge.merge(new int[]{Integer.MAX_VALUE}, new int[]{},
+                        new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE}));
+    }
+
+    @Test
+    void manyRunsTest() {
+        for (int count : new int[]{2, 3, 7, 64, 300}) {
+            int[][] runs = randomRuns(count, 50, count);
+            assertArrayEquals(concatSorted(runs), KWayMerge.merge(runs));
+        }
+    }
+
+    @Test
+    void iteratorTest() {
+        int[][] runs = randomRuns(17, 40, 1);
+        int[] expected = concatSorted(runs);
+        PrimitiveIterator.OfInt iterator = KWayMerge.iterator(runs);
+        for (int value : expected) {
+            assertEquals(value, iterator.nextInt());
+        }
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+        assertFalse(KWayMerge.iterator().hasNext());
+    }
+
+    @Test
+    void rangeMergeTest() {
+        int[] src = {1, 4, 9, 2, 3, 10, -5, 4};
+        int[] dst = new int[9];
+        KWayMerge.merge(src, new int[]{0, 3, 6}, new int[]{3, 6, 8}, dst, 1);
+        assertArrayEquals(new int[]{0, -5, 1, 2, 3, 4, 4, 9, 10}, dst);
+    }
+}
@@ -0,0 +1,107 @@
+package ru.nsu.masolygin;
+
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHeapTest {
+
+    @Test
+    void minOrderTest() {
+        LongHeap heap = new LongHeap(HeapOrder.MIN);
+        for (long value : new long[]{5, -3, 8, Long.MIN_VALUE, Long.MAX_VALUE, 0}) {
+            heap.push(value);
+        }
+        assertEquals(6, heap.size());
+        assertEquals(Long.MIN_VALUE, heap.peek());
+        assertEquals(Long.MIN_VALUE, heap.pop());
+        assertEquals(-3, heap.pop());
+        assertEquals(0, heap.pop());
+        assertEquals(5, heap.pop());
+        assertEquals(8, heap.pop());
+        assertEquals(Long.MAX_VALUE, heap.pop());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void maxOrderTest() {
+        LongHeap heap = new LongHeap(HeapOrder.MAX, 0);
+        for (long value : new long[]{5, -3, 8, Long.MIN_VALUE, Long.MAX_VALUE, 0}) {
+            heap.push(value);
+        }
+        assertEquals(Long.MAX_VALUE, heap.pop());
+        assertEquals(8, heap.pop());
+        assertEquals(5, heap.peek());
+        assertEquals(HeapOrder.MAX, heap.order());
+    }
+
+    @Test
+    void replaceTopTest() {
+        LongHeap heap = LongHeap.heapify(new long[]{4, 1, 7}, HeapOrder.MIN);
+        assertEquals(1, heap.replaceTop(9));
+        assertEquals(4, heap.pop());
+        assertEquals(7, heap.pop());
+        assertEquals(9, heap.pop());
+    }
+
+    @Test
+    void heapifyDoesNotModifySourceTest() {
+        long[] values = {3, 1, 2};
+        LongHeap heap = LongHeap.heapify(values, HeapOrder.MAX);
+        assertEquals(3, heap.size());
+        assertEquals(3, heap.pop());
+        assertEquals(3, values[0]);
+        assertEquals(1, values[1]);
+    }
+
+    @Test
+    void emptyHeapTest() {
+        LongHeap heap = new LongHeap(HeapOrder.MIN);
+        assertThrows(NoSuchElementException.class, heap::peek);
+        assertThrows(NoSuchElementException.class, heap::pop);
+        assertThrows(NoSuchElementException.class, () -> heap.replaceTop(1));
+        assertThrows(IllegalArgumentException.class, () -> new LongHeap(HeapOrder.MIN, -1));
+    }
+
+    @Test
+    void clearTest() {
+        LongHeap heap = LongHeap.heapify(new long[]{1, 2, 3}, HeapOrder.MIN);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        heap.push(5);
+        assertFalse(heap.isEmpty());
+        assertEquals(5, heap.peek());
+    }
+
+    @Test
+    void matchesPriorityQueueTest() {
+        for (HeapOrder order : HeapOrder.values()) {
+            Random random = new Random(0);
+            LongHeap heap = new LongHeap(order);
+            PriorityQueue<Long> expected = order == HeapOrder.MIN
+                    ? new PriorityQueue<>() : new PriorityQueue<>(Collections.reverseOrder());
+            for (int i = 0; i < 10000; i++) {
+                int operation = random.nextInt(3);
+                if (operation == 0 && !expected.isEmpty()) {
+                    assertEquals((long) expected.poll(), heap.pop());
+                } else if (operation == 1 && !expected.isEmpty()) {
+                    long value = random.nextLong();
+                    assertEquals((long) expected.poll(), heap.replaceTop(value));
+                    expected.add(value);
+                } else {
+                    long value = random.nextLong();
+                    heap.push(value);
+                    expected.add(value);
+                }
+                assertEquals(expected.size(), heap.size());
+            }
+        }
+    }
+}
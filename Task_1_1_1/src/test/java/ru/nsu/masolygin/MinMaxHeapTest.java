@@ -0,0 +1,96 @@
+package ru.nsu.masolygin;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinMaxHeapTest {
+
+    @Test
+    void pushAndPeekTest() {
+        MinMaxHeap heap = new MinMaxHeap();
+        heap.push(5);
+        assertEquals(5, heap.peekMin());
+        assertEquals(5, heap.peekMax());
+        heap.push(1);
+        heap.push(9);
+        heap.push(Integer.MIN_VALUE);
+        heap.push(Integer.MAX_VALUE);
+        assertEquals(Integer.MIN_VALUE, heap.peekMin());
+        assertEquals(Integer.MAX_VALUE, heap.peekMax());
+        assertEquals(5, heap.size());
+    }
+
+    @Test
+    void popBothEndsTest() {
+        MinMaxHeap heap = MinMaxHeap.heapify(new int[]{4, 8, 1, 6, 3, 9, 2, 7, 5});
+        assertEquals(1, heap.popMin());
+        assertEquals(9, heap.popMax());
+        assertEquals(2, heap.popMin());
+        assertEquals(8, heap.popMax());
+        assertEquals(7, heap.popMax());
+        assertEquals(3, heap.popMin());
+        assertEquals(4, heap.popMin());
+        assertEquals(6, heap.popMax());
+        assertEquals(5, heap.popMax());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void emptyHeapTest() {
+        MinMaxHeap heap = new MinMaxHeap();
+        assertThrows(NoSuchElementException.class, heap::peekMin);
+        assertThrows(NoSuchElementException.class, heap::peekMax);
+        assertThrows(NoSuchElementException.class, heap::popMin);
+        assertThrows(NoSuchElementException.class, heap::popMax);
+    }
+
+    private static void add(TreeMap<Integer, Integer> counts, int value) {
+        counts.merge(value, 1, Integer::sum);
+    }
+
+    private static int remove(TreeMap<Integer, Integer> counts, int value) {
+        if (counts.merge(value, -1, Integer::sum) == 0) {
+            counts.remove(value);
+        }
+        return value;
+    }
+
+    @Test
+    void randomOperationsTest() {
+        Random random = new Random(0);
+        int[] initial = new int[100];
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < initial.length; i++) {
+            initial[i] = random.nextInt(1000);
+            add(expected, initial[i]);
+        }
+        MinMaxHeap heap = MinMaxHeap.heapify(initial);
+        int size = initial.length;
+        for (int step = 0; step < 50000; step++) {
+            int operation = random.nextInt(4);
+            if (operation == 0 && size > 0) {
+                assertEquals(remove(expected, expected.firstKey()), heap.popMin());
+                size--;
+            } else if (operation == 1 && size > 0) {
+                assertEquals(remove(expected, expected.lastKey()), heap.popMax());
+                size--;
+            } else {
+                int value = random.nextInt(1000) - 500;
+                heap.push(value);
+                add(expected, value);
+                size++;
+            }
+            assertEquals(size, heap.size());
+            if (size > 0) {
+                assertEquals((int) expected.firstKey(), heap.peekMin());
+                assertEquals((int) expected.lastKey(), heap.peekMax());
+            }
+        }
+    }
+}
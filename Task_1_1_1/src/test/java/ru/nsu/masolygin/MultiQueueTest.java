@@ -0,0 +1,145 @@
+package ru.nsu.masolygin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiQueueTest {
+
+    private static int[] drain(MultiQueue queue) {
+        List<Integer> values = new ArrayList<>();
+        for (OptionalInt value = queue.poll(); value.isPresent(); value = queue.poll()) {
+            values.add(value.getAsInt());
+        }
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void singleQueueIsExactTest() {
+        int[] values = new Random(0).ints(1000).toArray();
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+
+        MultiQueue min = new MultiQueue(HeapOrder.MIN, 1);
+        MultiQueue max = new MultiQueue(HeapOrder.MAX, 1);
+        for (int value : values) {
+            min.push(value);
+            max.push(value);
+        }
+        assertArrayEquals(expected, drain(min));
+        int[] descending = drain(max);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[expected.length - 1 - i], descending[i]);
+        }
+    }
+
+    @Test
+    void keepsAllElementsTest() {
+        int[] values = new Random(1).ints(10_000, 0, 100).toArray();
+        MultiQueue queue = new MultiQueue(HeapOrder.MIN, 8);
+        for (int value : values) {
+            queue.push(value);
+        }
+        assertEquals(values.length, queue.size());
+
+        int[] polled = drain(queue);
+        Arrays.sort(polled);
+        Arrays.sort(values);
+        assertArrayEquals(values, polled);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void approximateOrderTest() {
+        int n = 10_000;
+        MultiQueue queue = new MultiQueue(HeapOrder.MIN, 8);
+        Random random = new Random(2);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            Heapsort.swap(values, i, random.nextInt(i + 1));
+        }
+        for (int value : values) {
+            queue.push(value);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queue.poll().getAsInt() < 1000);
+        }
+    }
+
+    @Test
+    void emptyQueueTest() {
+        MultiQueue queue = new MultiQueue(HeapOrder.MAX);
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertFalse(queue.poll().isPresent());
+        assertEquals(HeapOrder.MAX, queue.order());
+
+        queue.push(7);
+        assertEquals(7, queue.poll().getAsInt());
+        assertFalse(queue.poll().isPresent());
+    }
+
+    @Test
+    void concurrentTest() throws InterruptedException {
+        int threads = 4;
+        int perThread = 20_000;
+        MultiQueue queue = new MultiQueue(HeapOrder.MIN, 2 * threads);
+        List<int[]> polled = new ArrayList<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int[] mine = new int[perThread];
+            polled.add(mine);
+            int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                int count = 0;
+                for (int i = 0; i < perThread; i++) {
+                    queue.push(base + i);
+                    OptionalInt value = i % 2 == 1 ? queue.poll() : OptionalInt.empty();
+                    if (value.isPresent()) {
+                        mine[count++] = value.getAsInt();
+                    }
+                }
+                Arrays.fill(mine, count, mine.length, -1);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int[] all = new int[threads * perThread];
+        int size = 0;
+        for (int[] mine : polled) {
+            for (int value : mine) {
+                if (value >= 0) {
+                    all[size++] = value;
+                }
+            }
+        }
+        for (int value : drain(queue)) {
+            all[size++] = value;
+        }
+        assertEquals(all.length, size);
+        Arrays.sort(all);
+        for (int i = 0; i < all.length; i++) {
+            assertEquals(i, all[i]);
+        }
+    }
+
+    @Test
+    void invalidQueueCountTest() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiQueue(HeapOrder.MIN, 0));
+    }
+}
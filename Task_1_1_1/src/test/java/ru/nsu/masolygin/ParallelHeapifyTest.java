@@ -0,0 +1,119 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelHeapifyTest {
+
+    private static int[] serialHeap(int[] arr) {
+        int[] heap = arr.clone();
+        for (int i = heap.length / 2 - 1; i >= 0; i--) {
+            Heapsort.siftDownBottomUp(heap, heap.length, i);
+        }
+        return heap;
+    }
+
+    @Test
+    void matchesSerialHeapifyTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(0);
+            for (int n : new int[]{0, 1, 2, 3, 7, 8, 100, 1000, 100_003}) {
+                for (int threshold : new int[]{1, 7, 64, 1 << 20}) {
+                    int[] arr = random.ints(n, 0, 1000).toArray();
+                    int[] expected = serialHeap(arr);
+                    ParallelHeapify.heapify(arr, 0, n, threshold, pool);
+                    assertArrayEquals(expected, arr);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void rangeTest() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            int[] arr = new Random(1).ints(10_000).toArray();
+            int[] expected = arr.clone();
+            int[] middle = serialHeap(Arrays.copyOfRange(arr, 100, 9_900));
+            System.arraycopy(middle, 0, expected, 100, middle.length);
+
+            ParallelHeapify.heapify(arr, 100, 9_900, 16, pool);
+            assertArrayEquals(expected, arr);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void publicHeapifyTest() {
+        int[] arr = new Random(2).ints(50_000).toArray();
+        Heapsort.parallelHeapify(arr, ForkJoinPool.commonPool());
+        for (int i = 1; i < arr.length; i++) {
+            assertTrue(arr[(i - 1) / 2] >= arr[i]);
+        }
+    }
+
+    @Test
+    void intHeapBulkBuildTest() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            int[] values = new Random(3).ints(200_000).toArray();
+            IntHeap heap = IntHeap.heapify(values, HeapOrder.MIN, pool);
+            int[] expected = values.clone();
+            Arrays.sort(expected);
+            for (int value : expected) {
+                assertEquals(value, heap.pop());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void longMatchesSerialHeapifyTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(4);
+            for (int n : new int[]{0, 1, 2, 3, 7, 8, 100, 1000, 100_003}) {
+                for (int threshold : new int[]{1, 7, 64, 1 << 20}) {
+                    long[] arr = random.longs(n, 0, 1000).toArray();
+                    long[] expected = arr.clone();
+                    for (int i = n / 2 - 1; i >= 0; i--) {
+                        Heapsort.siftDownBottomUp(expected, n, i);
+                    }
+                    ParallelHeapify.heapify(arr, n, threshold, pool);
+                    assertArrayEquals(expected, arr);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void longHeapBulkBuildTest() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            long[] values = new Random(5).longs(200_000).toArray();
+            long[] expected = values.clone();
+            Arrays.sort(expected);
+            LongHeap parallel = LongHeap.heapify(values, HeapOrder.MIN, pool);
+            LongHeap serial = LongHeap.heapify(values, HeapOrder.MIN);
+            for (long value : expected) {
+                assertEquals(value, parallel.pop());
+                assertEquals(value, serial.pop());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package ru.nsu.masolygin;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelHeapsortTest {
+
+    @TempDir
+    Path dir;
+
+    private static int[] randomArray(int size, int bound, long seed) {
+        Random random = new Random(seed);
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = bound > 0 ? random.nextInt(bound) : random.nextInt();
+        }
+        return arr;
+    }
+
+    private static void assertSorts(int[] arr, int threshold, ForkJoinPool pool) {
+        int[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Heapsort.parallelHeapsort(arr, threshold, pool);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void defaultPoolTest() {
+        int[] arr = randomArray(100000, 0, 0);
+        int[] copy = arr.clone();
+        Arrays.sort(copy);
+
+        Heapsort.parallelHeapsort(arr);
+        assertArrayEquals(copy, arr);
+    }
+
+    @Test
+    void manySegmentsTest() {
+        ForkJoinPool pool = new ForkJoinPool(7);
+        try {
+            assertSorts(randomArray(100000, 0, 1), 100, pool);
+            assertSorts(randomArray(100003, 10, 2), 100, pool);
+            assertSorts(new int[]{}, 1, pool);
+            assertSorts(new int[]{5}, 1, pool);
+            assertSorts(randomArray(20, 0, 3), 1, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void allSameElementsTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[] arr = new int[10000];
+            Arrays.fill(arr, -3);
+            assertSorts(arr, 16, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void duplicateSplittersBalancePartsTest() {
+        int n = 100_000;
+        int parts = 8;
+        int[] bounds = new int[parts + 1];
+        for (int i = 0; i <= parts; i++) {
+            bounds[i] = n * i / parts;
+        }
+        for (int unique : new int[]{1, 3}) {
+            int[] arr = randomArray(n, unique, 7);
+            for (int run = 0; run < parts; run++) {
+                Arrays.sort(arr, bounds[run], bounds[run + 1]);
+            }
+
+            int[][] cuts = ParallelHeapsort.cuts(arr, bounds, parts);
+            for (int part = 0; part < parts; part++) {
+                int size = 0;
+                for (int run = 0; run < parts; run++) {
+                    assertTrue(cuts[part][run] <= cuts[part + 1][run]);
+                    size += cuts[part + 1][run] - cuts[part][run];
+                }
+                assertTrue(size > n / parts / 2, "part " + part + " has " + size);
+                assertTrue(size < n / parts * 2, "part " + part + " has " + size);
+            }
+        }
+    }
+
+    @Test
+    void extremeValuesTest() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            int[] arr = randomArray(1000, 0, 4);
+            for (int i = 0; i < arr.length; i += 7) {
+                arr[i] = i % 2 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            }
+            assertSorts(arr, 10, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void noHeapsortEventsTest() throws IOException {
+        Path file = dir.resolve("parallel.jfr");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (Recording recording = new Recording()) {
+            recording.enable("ru.nsu.masolygin.Heapsort").withoutThreshold();
+            recording.start();
+            assertSorts(randomArray(10000, 0, 5), 100, pool);
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(0, RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("ru.nsu.masolygin.Heapsort"))
+                .count());
+    }
+
+    @Test
+    void invalidThresholdTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Heapsort.parallelHeapsort(new int[]{1}, 0));
+    }
+}
@@ -0,0 +1,120 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PermutationsTest {
+
+    @Test
+    void applyToAllTypesTest() {
+        int[] permutation = {2, 0, 3, 1};
+        int[] ints = {10, 20, 30, 40};
+        long[] longs = {1L, 2L, 3L, 4L};
+        double[] doubles = {0.5, 1.5, 2.5, 3.5};
+        float[] floats = {1f, 2f, 3f, 4f};
+        short[] shorts = {1, 2, 3, 4};
+        char[] chars = {'a', 'b', 'c', 'd'};
+        byte[] bytes = {1, 2, 3, 4};
+        boolean[] booleans = {true, false, false, true};
+        String[] strings = {"a", "b", "c", "d"};
+
+        Permutations.apply(permutation, ints, longs, doubles, floats, shorts, chars, bytes,
+                booleans, strings);
+
+        assertArrayEquals(new int[]{30, 10, 40, 20}, ints);
+        assertArrayEquals(new long[]{3L, 1L, 4L, 2L}, longs);
+        assertArrayEquals(new double[]{2.5, 0.5, 3.5, 1.5}, doubles);
+        assertArrayEquals(new float[]{3f, 1f, 4f, 2f}, floats);
+        assertArrayEquals(new short[]{3, 1, 4, 2}, shorts);
+        assertArrayEquals(new char[]{'c', 'a', 'd', 'b'}, chars);
+        assertArrayEquals(new byte[]{3, 1, 4, 2}, bytes);
+        assertArrayEquals(new boolean[]{false, true, true, false}, booleans);
+        assertArrayEquals(new String[]{"c", "a", "d", "b"}, strings);
+    }
+
+    @Test
+    void argsortColumnsTest() {
+        Random random = new Random(0);
+        int n = 1000;
+        int[] keys = new int[n];
+        int[] ids = new int[n];
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(100);
+            ids[i] = i;
+            names[i] = "row" + i;
+        }
+
+        Permutations.apply(Heapsort.argsort(keys), keys, ids, names);
+
+        for (int i = 1; i < n; i++) {
+            assertTrue(keys[i - 1] <= keys[i]);
+            if (keys[i - 1] == keys[i]) {
+                assertTrue(ids[i - 1] < ids[i]);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            assertEquals("row" + ids[i], names[i]);
+        }
+    }
+
+    @Test
+    void singleObjectColumnTest() {
+        String[] names = {"a", "b", "c", "d"};
+        Permutations.apply(new int[]{2, 0, 3, 1}, names);
+        assertArrayEquals(new String[]{"c", "a", "d", "b"}, names);
+
+        Object[] objects = {1, "x", 2.5};
+        Permutations.apply(new int[]{2, 1, 0}, objects);
+        assertArrayEquals(new Object[]{2.5, "x", 1}, objects);
+    }
+
+    @Test
+    void objectColumnLastTest() {
+        int[] ids = {1, 2, 3};
+        String[] names = {"a", "b", "c"};
+        Permutations.apply(new int[]{1, 2, 0}, ids, names);
+        assertArrayEquals(new int[]{2, 3, 1}, ids);
+        assertArrayEquals(new String[]{"b", "c", "a"}, names);
+    }
+
+    @Test
+    void identityAndEmptyTest() {
+        int[] values = {3, 1, 2};
+        Permutations.apply(new int[]{0, 1, 2}, values);
+        assertArrayEquals(new int[]{3, 1, 2}, values);
+        Permutations.apply(new int[]{}, new int[]{}, (Object) new Object[]{});
+    }
+
+    @Test
+    void invalidArgumentsTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Permutations.apply(new int[]{0, 0}, new int[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> Permutations.apply(new int[]{0, 2}, new int[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> Permutations.apply(new int[]{1, 0}, new int[3]));
+        assertThrows(IllegalArgumentException.class,
+                () -> Permutations.apply(new int[]{1, 0}, "ab"));
+        int[] untouched = {1, 2};
+        assertThrows(IllegalArgumentException.class,
+                () -> Permutations.apply(new int[]{1, 0}, untouched, new int[3]));
+        assertArrayEquals(new int[]{1, 2}, untouched);
+    }
+
+    @Test
+    void matchesArraysSortTest() {
+        int[] keys = {5, -1, 5, 3, Integer.MIN_VALUE};
+        int[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        int[] permutation = Heapsort.argsort(keys);
+        assertArrayEquals(new int[]{5, -1, 5, 3, Integer.MIN_VALUE}, keys);
+        assertArrayEquals(new int[]{4, 1, 3, 0, 2}, permutation);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SortingNetworksTest {
+
+    @Test
+    void zeroOnePrincipleTest() {
+        for (int n = 0; n <= SortingNetworks.MAX_SIZE; n++) {
+            for (int mask = 0; mask < 1 << n; mask++) {
+                int[] arr = new int[n];
+                for (int i = 0; i < n; i++) {
+                    arr[i] = (mask >>> i) & 1;
+                }
+                int[] expected = arr.clone();
+                Arrays.sort(expected);
+                SortingNetworks.sort(arr);
+                assertArrayEquals(expected, arr);
+            }
+        }
+    }
+
+    @Test
+    void randomArraysTest() {
+        Random random = new Random(0);
+        for (int round = 0; round < 1000; round++) {
+            int n = random.nextInt(SortingNetworks.MAX_SIZE + 1);
+            int[] arr = round % 2 == 0 ? random.ints(n).toArray() : random.ints(n, -4, 4).toArray();
+            int[] expected = arr.clone();
+            Arrays.sort(expected);
+            SortingNetworks.sort(arr);
+            assertArrayEquals(expected, arr);
+        }
+    }
+
+    @Test
+    void rangeTest() {
+        int[] arr = {9, 5, 4, 3, 2, 1, 0};
+        SortingNetworks.sort(arr, 1, 5);
+        assertArrayEquals(new int[]{9, 2, 3, 4, 5, 1, 0}, arr);
+    }
+
+    @Test
+    void invalidArgumentsTest() {
+        assertThrows(IllegalArgumentException.class, () -> SortingNetworks.sort(new int[17]));
+        assertThrows(IllegalArgumentException.class,
+                () -> SortingNetworks.sort(new int[40], 2, 19));
+        assertThrows(IllegalArgumentException.class,
+                () -> SortingNetworks.sort(new int[4], 3, 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> SortingNetworks.sort(new int[4], 0, 5));
+    }
+}
@@ -0,0 +1,100 @@
+package ru.nsu.masolygin;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopKCollectorTest {
+
+    private static int[] randomArray(int size, long seed) {
+        Random random = new Random(seed);
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = random.nextInt();
+        }
+        return arr;
+    }
+
+    private static int[] expectedTop(int[] arr, int k) {
+        int[] sorted = arr.clone();
+        Arrays.sort(sorted);
+        return Arrays.copyOfRange(sorted, Math.max(0, sorted.length - k), sorted.length);
+    }
+
+    @Test
+    void acceptTest() {
+        TopKCollector collector = new TopKCollector(3);
+        for (int value : new int[]{5, 1, 8, 3, 9, 2}) {
+            collector.accept(value);
+        }
+        assertEquals(3, collector.size());
+        assertArrayEquals(new int[]{5, 8, 9}, collector.snapshot());
+    }
+
+    @Test
+    void fewerValuesThanKTest() {
+        TopKCollector collector = new TopKCollector(10);
+        collector.addAll(new int[]{Integer.MIN_VALUE, 4, Integer.MAX_VALUE});
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, 4, Integer.MAX_VALUE},
+                collector.snapshot());
+    }
+
+    @Test
+    void zeroKTest() {
+        TopKCollector collector = new TopKCollector(0);
+        collector.addAll(new int[]{1, 2, 3});
+        assertArrayEquals(new int[]{}, collector.snapshot());
+        assertThrows(IllegalArgumentException.class, () -> new TopKCollector(-1));
+    }
+
+    @Test
+    void snapshotDoesNotDisturbStateTest() {
+        TopKCollector collector = new TopKCollector(2);
+        collector.addAll(new int[]{1, 7, 3});
+        assertArrayEquals(new int[]{3, 7}, collector.snapshot());
+        collector.accept(5);
+        assertArrayEquals(new int[]{5, 7}, collector.snapshot());
+    }
+
+    @Test
+    void iteratorAndChunksTest() {
+        int[] arr = randomArray(10000, 0);
+        TopKCollector collector = new TopKCollector(50);
+        collector.addAll(Arrays.stream(arr, 0, 5000).iterator());
+        collector.addAll(arr, 5000, 7500);
+        collector.addAll(IntStream.of(Arrays.copyOfRange(arr, 7500, arr.length)));
+        assertArrayEquals(expectedTop(arr, 50), collector.snapshot());
+    }
+
+    @Test
+    void chunkBoundsTest() {
+        TopKCollector collector = new TopKCollector(1);
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> collector.addAll(new int[3], 1, 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> collector.addAll(new int[3], 2, 1));
+    }
+
+    @Test
+    void combineTest() {
+        int[] arr = randomArray(1000, 1);
+        TopKCollector left = new TopKCollector(20).addAll(Arrays.copyOf(arr, 300));
+        TopKCollector right = new TopKCollector(20).addAll(Arrays.copyOfRange(arr, 300, 1000));
+        assertArrayEquals(expectedTop(arr, 20), left.combine(right).snapshot());
+        assertThrows(IllegalArgumentException.class,
+                () -> left.combine(new TopKCollector(5)));
+    }
+
+    @Test
+    void parallelStreamTest() {
+        int[] arr = randomArray(100000, 2);
+        assertArrayEquals(expectedTop(arr, 100),
+                TopKCollector.topK(Arrays.stream(arr).parallel(), 100));
+        assertArrayEquals(expectedTop(arr, 100), TopKCollector.topK(Arrays.stream(arr), 100));
+    }
+}
@@ -0,0 +1,102 @@
+package ru.nsu.masolygin;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VectorSortTest {
+
+    private static final int[] SIZES = {0, 1, 2, 15, 16, 17, 63, 64, 65, 127, 128, 129, 1000,
+        4096, 100_003};
+
+    private static int[] randomArray(int size, int bound, long seed) {
+        Random random = new Random(seed);
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = bound > 0 ? random.nextInt(bound) : random.nextInt();
+        }
+        return arr;
+    }
+
+    @Test
+    void sortTest() {
+        for (int size : SIZES) {
+            for (int bound : new int[]{0, 10}) {
+                int[] arr = randomArray(size, bound, size);
+                int[] expected = arr.clone();
+                Arrays.sort(expected);
+                VectorSort.sort(arr);
+                assertArrayEquals(expected, arr);
+            }
+        }
+    }
+
+    @Test
+    void scalarFallbackTest() {
+        BlockSorter scalar = new VectorSort.ScalarBlockSorter();
+        for (int size : SIZES) {
+            int[] arr = randomArray(size, 0, size);
+            int[] expected = arr.clone();
+            Arrays.sort(expected);
+            VectorSort.sortRange(arr, 0, arr.length, scalar);
+            assertArrayEquals(expected, arr);
+        }
+    }
+
+    @Test
+    void extremeValuesTest() {
+        int[] arr = randomArray(1000, 0, 1);
+        for (int i = 0; i < arr.length; i += 7) {
+            arr[i] = i % 2 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        }
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+        VectorSort.sort(arr);
+        assertArrayEquals(expected, arr);
+    }
+
+    @Test
+    void rangeOfLargeArrayAllocatesOnlySliceTest() {
+        int[] arr = new int[20_000_000];
+        int from = 10_000_000;
+        int to = from + 1000;
+        Random random = new Random(3);
+        for (int i = from; i < to; i++) {
+            arr[i] = random.nextInt();
+        }
+        int[] expected = Arrays.copyOfRange(arr, from, to);
+        Arrays.sort(expected);
+
+        VectorSort.sort(arr, from, to);
+        if (ManagementFactory.getThreadMXBean() instanceof ThreadMXBean) {
+            ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long id = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(id);
+            VectorSort.sort(arr, from, to);
+            assertTrue(threads.getThreadAllocatedBytes(id) - before < 1 << 20);
+        }
+        assertArrayEquals(expected, Arrays.copyOfRange(arr, from, to));
+        assertEquals(0, arr[from - 1]);
+        assertEquals(0, arr[to]);
+    }
+
+    @Test
+    void rangeTest() {
+        int[] arr = randomArray(500, 0, 2);
+        int[] expected = arr.clone();
+        Arrays.sort(expected, 37, 411);
+        VectorSort.sort(arr, 37, 411);
+        assertArrayEquals(expected, arr);
+
+        assertThrows(IllegalArgumentException.class, () -> VectorSort.sort(new int[4], 3, 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> VectorSort.sort(new int[4], 0, 5));
+    }
+}
@@ -0,0 +1,276 @@
+package ru.nsu.masolygin;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторная первая фаза {@link VectorSort}.
+ *
+ * <p>Блок из {@value #ROWS} векторов по L линий рассматривается как матрица
+ * {@value #ROWS}×L. Сортирующая сеть на {@value #ROWS} входов из
+ * {@link SortingNetworks} применяется к векторам целиком, так что одна пара min
+ * и max выполняет сравнение-обмен сразу во всех L столбцах. После этого столбцы
+ * транспонируются в L серий по {@value #ROWS} элементов. Хвост короче блока
+ * сортируется скалярными сетями.
+ *
+ * <p>Сеть развернута в локальные переменные: векторы, хранящиеся в массиве, JIT не
+ * держит в регистрах, и каждая операция над ними выделяет объект.
+ *
+ * <p>Класс компилируется и запускается только с модулем {@code jdk.incubator.vector}.
+ */
+class VectorBlockSorter implements BlockSorter {
+    /**
+     * Число векторов в блоке и длина получаемых серий.
+     */
+    static final int ROWS = 16;
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Создает сортировщик.
+     *
+     * @throws UnsupportedOperationException если векторы короче четырех int-линий
+     *                                       и векторный путь не окупается
+     */
+    VectorBlockSorter() {
+        if (SPECIES.length() < 4) {
+            throw new UnsupportedOperationException("Vector too short: " + SPECIES);
+        }
+    }
+
+    @Override
+    public void sortRuns(int[] arr, int from, int to) {
+        int lanes = SPECIES.length();
+        int size = ROWS * lanes;
+        int[] block = new int[size];
+        int base = from;
+        for (; to - base >= size; base += size) {
+            IntVector v0 = IntVector.fromArray(SPECIES, arr, base);
+            IntVector v1 = IntVector.fromArray(SPECIES, arr, base + 1 * lanes);
+            IntVector v2 = IntVector.fromArray(SPECIES, arr, base + 2 * lanes);
+            IntVector v3 = IntVector.fromArray(SPECIES, arr, base + 3 * lanes);
+            IntVector v4 = IntVector.fromArray(SPECIES, arr, base + 4 * lanes);
+            IntVector v5 = IntVector.fromArray(SPECIES, arr, base + 5 * lanes);
+            IntVector v6 = IntVector.fromArray(SPECIES, arr, base + 6 * lanes);
+            IntVector v7 = IntVector.fromArray(SPECIES, arr, base + 7 * lanes);
+            IntVector v8 = IntVector.fromArray(SPECIES, arr, base + 8 * lanes);
+            IntVector v9 = IntVector.fromArray(SPECIES, arr, base + 9 * lanes);
+            IntVector v10 = IntVector.fromArray(SPECIES, arr, base + 10 * lanes);
+            IntVector v11 = IntVector.fromArray(SPECIES, arr, base + 11 * lanes);
+            IntVector v12 = IntVector.fromArray(SPECIES, arr, base + 12 * lanes);
+            IntVector v13 = IntVector.fromArray(SPECIES, arr, base + 13 * lanes);
+            IntVector v14 = IntVector.fromArray(SPECIES, arr, base + 14 * lanes);
+            IntVector v15 = IntVector.fromArray(SPECIES, arr, base + 15 * lanes);
+            IntVector t;
+            t = v0.min(v13);
+            v13 = v0.max(v13);
+            v0 = t;
+            t = v1.min(v12);
+            v12 = v1.max(v12);
+            v1 = t;
+            t = v2.min(v15);
+            v15 = v2.max(v15);
+            v2 = t;
+            t = v3.min(v14);
+            v14 = v3.max(v14);
+            v3 = t;
+            t = v4.min(v8);
+            v8 = v4.max(v8);
+            v4 = t;
+            t = v5.min(v6);
+            v6 = v5.max(v6);
+            v5 = t;
+            t = v7.min(v11);
+            v11 = v7.max(v11);
+            v7 = t;
+            t = v9.min(v10);
+            v10 = v9.max(v10);
+            v9 = t;
+            t = v0.min(v5);
+            v5 = v0.max(v5);
+            v0 = t;
+            t = v1.min(v7);
+            v7 = v1.max(v7);
+            v1 = t;
+            t = v2.min(v9);
+            v9 = v2.max(v9);
+            v2 = t;
+            t = v3.min(v4);
+            v4 = v3.max(v4);
+            v3 = t;
+            t = v6.min(v13);
+            v13 = v6.max(v13);
+            v6 = t;
+            t = v8.min(v14);
+            v14 = v8.max(v14);
+            v8 = t;
+            t = v10.min(v15);
+            v15 = v10.max(v15);
+            v10 = t;
+            t = v11.min(v12);
+            v12 = v11.max(v12);
+            v11 = t;
+            t = v0.min(v1);
+            v1 = v0.max(v1);
+            v0 = t;
+            t = v2.min(v3);
+            v3 = v2.max(v3);
+            v2 = t;
+            t = v4.min(v5);
+            v5 = v4.max(v5);
+            v4 = t;
+            t = v6.min(v8);
+            v8 = v6.max(v8);
+            v6 = t;
+            t = v7.min(v9);
+            v9 = v7.max(v9);
+            v7 = t;
+            t = v10.min(v11);
+            v11 = v10.max(v11);
+            v10 = t;
+            t = v12.min(v13);
+            v13 = v12.max(v13);
+            v12 = t;
+            t = v14.min(v15);
+            v15 = v14.max(v15);
+            v14 = t;
+            t = v0.min(v2);
+            v2 = v0.max(v2);
+            v0 = t;
+            t = v1.min(v3);
+            v3 = v1.max(v3);
+            v1 = t;
+            t = v4.min(v10);
+            v10 = v4.max(v10);
+            v4 = t;
+            t = v5.min(v11);
+            v11 = v5.max(v11);
+            v5 = t;
+            t = v6.min(v7);
+            v7 = v6.max(v7);
+            v6 = t;
+            t = v8.min(v9);
+            v9 = v8.max(v9);
+            v8 = t;
+            t = v12.min(v14);
+            v14 = v12.max(v14);
+            v12 = t;
+            t = v13.min(v15);
+            v15 = v13.max(v15);
+            v13 = t;
+            t = v1.min(v2);
+            v2 = v1.max(v2);
+            v1 = t;
+            t = v3.min(v12);
+            v12 = v3.max(v12);
+            v3 = t;
+            t = v4.min(v6);
+            v6 = v4.max(v6);
+            v4 = t;
+            t = v5.min(v7);
+            v7 = v5.max(v7);
+            v5 = t;
+            t = v8.min(v10);
+            v10 = v8.max(v10);
+            v8 = t;
+            t = v9.min(v11);
+            v11 = v9.max(v11);
+            v9 = t;
+            t = v13.min(v14);
+            v14 = v13.max(v14);
+            v13 = t;
+            t = v1.min(v4);
+            v4 = v1.max(v4);
+            v1 = t;
+            t = v2.min(v6);
+            v6 = v2.max(v6);
+            v2 = t;
+            t = v5.min(v8);
+            v8 = v5.max(v8);
+            v5 = t;
+            t = v7.min(v10);
+            v10 = v7.max(v10);
+            v7 = t;
+            t = v9.min(v13);
+            v13 = v9.max(v13);
+            v9 = t;
+            t = v11.min(v14);
+            v14 = v11.max(v14);
+            v11 = t;
+            t = v2.min(v4);
+            v4 = v2.max(v4);
+            v2 = t;
+            t = v3.min(v6);
+            v6 = v3.max(v6);
+            v3 = t;
+            t = v9.min(v12);
+            v12 = v9.max(v12);
+            v9 = t;
+            t = v11.min(v13);
+            v13 = v11.max(v13);
+            v11 = t;
+            t = v3.min(v5);
+            v5 = v3.max(v5);
+            v3 = t;
+            t = v6.min(v8);
+            v8 = v6.max(v8);
+            v6 = t;
+            t = v7.min(v9);
+            v9 = v7.max(v9);
+            v7 = t;
+            t = v10.min(v12);
+            v12 = v10.max(v12);
+            v10 = t;
+            t = v3.min(v4);
+            v4 = v3.max(v4);
+            v3 = t;
+            t = v5.min(v6);
+            v6 = v5.max(v6);
+            v5 = t;
+            t = v7.min(v8);
+            v8 = v7.max(v8);
+            v7 = t;
+            t = v9.min(v10);
+            v10 = v9.max(v10);
+            v9 = t;
+            t = v11.min(v12);
+            v12 = v11.max(v12);
+            v11 = t;
+            t = v6.min(v7);
+            v7 = v6.max(v7);
+            v6 = t;
+            t = v8.min(v9);
+            v9 = v8.max(v9);
+            v8 = t;
+            v0.intoArray(block, 0);
+            v1.intoArray(block, 1 * lanes);
+            v2.intoArray(block, 2 * lanes);
+            v3.intoArray(block, 3 * lanes);
+            v4.intoArray(block, 4 * lanes);
+            v5.intoArray(block, 5 * lanes);
+            v6.intoArray(block, 6 * lanes);
+            v7.intoArray(block, 7 * lanes);
+            v8.intoArray(block, 8 * lanes);
+            v9.intoArray(block, 9 * lanes);
+            v10.intoArray(block, 10 * lanes);
+            v11.intoArray(block, 11 * lanes);
+            v12.intoArray(block, 12 * lanes);
+            v13.intoArray(block, 13 * lanes);
+            v14.intoArray(block, 14 * lanes);
+            v15.intoArray(block, 15 * lanes);
+            for (int c = 0; c < lanes; c++) {
+                for (int r = 0; r < ROWS; r++) {
+                    arr[base + c * ROWS + r] = block[r * lanes + c];
+                }
+            }
+        }
+        for (; base < to; base += Math.min(ROWS, to - base)) {
+            SortingNetworks.sortRange(arr, base, base + Math.min(ROWS, to - base));
+        }
+    }
+
+    @Override
+    public int runLength() {
+        return ROWS;
+    }
+}